@@ -11,4 +11,8 @@ export const authApi = {
     const response = await api.post<AuthResponse>('/api/auth/login', data);
     return response.data;
   },
+
+  logout: async (refreshToken: string): Promise<void> => {
+    await api.post('/api/auth/logout', { refreshToken });
+  },
 };
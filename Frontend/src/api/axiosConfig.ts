@@ -1,5 +1,7 @@
 import axios from 'axios';
+import type { InternalAxiosRequestConfig } from 'axios';
 import { storage } from '@/utils/storage';
+import type { AuthResponse } from '@/types/auth.types';
 
 const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080';
 
@@ -23,10 +25,47 @@ api.interceptors.request.use(
   }
 );
 
+let refreshing: Promise<string> | null = null;
+
+// Refresh tokens are single-use, so concurrent 401s share one refresh call
+const refreshAccessToken = (refreshToken: string): Promise<string> => {
+  if (!refreshing) {
+    refreshing = axios
+      .post<AuthResponse>(`${API_BASE_URL}/api/auth/refresh`, { refreshToken })
+      .then(({ data }) => {
+        storage.setToken(data.token);
+        storage.setRefreshToken(data.refreshToken);
+        return data.token;
+      })
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  return refreshing;
+};
+
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
-    if (error.response?.status === 401) {
+  async (error) => {
+    const original = error.config as (InternalAxiosRequestConfig & { _retry?: boolean }) | undefined;
+    const refreshToken = storage.getRefreshToken();
+    if (
+      error.response?.status === 401 &&
+      original &&
+      !original._retry &&
+      refreshToken &&
+      !original.url?.startsWith('/api/auth/')
+    ) {
+      original._retry = true;
+      try {
+        const token = await refreshAccessToken(refreshToken);
+        original.headers.Authorization = `Bearer ${token}`;
+        return api(original);
+      } catch {
+        // fall through to sign-out below
+      }
+    }
+    if (error.response?.status === 401 && !original?.url?.startsWith('/api/auth/')) {
       storage.clear();
       window.location.href = '/login';
     }
@@ -1,6 +1,6 @@
 import { api } from './axiosConfig';
 import type { ProjectRequest, ProjectResponse } from '@/types/project.types';
-import type { PageResponse } from '@/types/pagination.types';
+import type { ChangesResponse, PageResponse } from '@/types/pagination.types';
 
 export const projectApi = {
   getAll: async (): Promise<ProjectResponse[]> => {
@@ -15,6 +15,13 @@ export const projectApi = {
     return response.data;
   },
 
+  getChanges: async (since?: string, limit?: number): Promise<ChangesResponse<ProjectResponse>> => {
+    const response = await api.get<ChangesResponse<ProjectResponse>>('/api/projects/changes', {
+      params: { since, limit },
+    });
+    return response.data;
+  },
+
   getById: async (id: number): Promise<ProjectResponse> => {
     const response = await api.get<ProjectResponse>(`/api/projects/${id}`);
     return response.data;
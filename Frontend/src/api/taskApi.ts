@@ -1,6 +1,6 @@
 import { api } from './axiosConfig';
 import type { TaskRequest, TaskResponse } from '@/types/task.types';
-import type { PageResponse } from '@/types/pagination.types';
+import type { ChangesResponse, PageResponse } from '@/types/pagination.types';
 
 export const taskApi = {
   getByProject: async (projectId: number): Promise<TaskResponse[]> => {
@@ -29,6 +29,13 @@ export const taskApi = {
     return response.data;
   },
 
+  getChanges: async (projectId: number, since?: string, limit?: number): Promise<ChangesResponse<TaskResponse>> => {
+    const response = await api.get<ChangesResponse<TaskResponse>>(`/api/projects/${projectId}/tasks/changes`, {
+      params: { since, limit },
+    });
+    return response.data;
+  },
+
   create: async (projectId: number, data: TaskRequest): Promise<TaskResponse> => {
     const response = await api.post<TaskResponse>(`/api/projects/${projectId}/tasks`, data);
     return response.data;
@@ -39,11 +46,12 @@ export const taskApi = {
     return response.data;
   },
 
-  updateStatus: async (taskId: number, completed: boolean): Promise<TaskResponse> => {
-    const response = await api.patch<TaskResponse>(
-      `/api/tasks/${taskId}/status?completed=${completed}`
-    );
-    return response.data;
+  patch: async (taskId: number, data: Partial<TaskRequest>): Promise<void> => {
+    await api.patch(`/api/tasks/${taskId}`, data);
+  },
+
+  updateStatus: async (taskId: number, completed: boolean): Promise<void> => {
+    await api.patch(`/api/tasks/${taskId}/status?completed=${completed}`);
   },
 
   delete: async (taskId: number): Promise<void> => {
@@ -22,6 +22,7 @@ export const AuthProvider: React.FC<{ children: ReactNode }> = ({ children }) =>
     try {
       const response = await authApi.login(data);
       storage.setToken(response.token);
+      storage.setRefreshToken(response.refreshToken);
       storage.setUser({ username: response.username });
       setUser({ username: response.username, email: data.email });
       toast({
@@ -88,6 +89,10 @@ export const AuthProvider: React.FC<{ children: ReactNode }> = ({ children }) =>
   };
 
   const logout = () => {
+    const refreshToken = storage.getRefreshToken();
+    if (refreshToken) {
+      authApi.logout(refreshToken).catch(() => undefined);
+    }
     storage.clear();
     setUser(null);
     toast({
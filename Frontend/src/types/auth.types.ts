@@ -12,6 +12,8 @@ export interface LoginRequest {
 export interface AuthResponse {
   token: string;
   tokenType?: string;
+  expiresIn: number;
+  refreshToken: string;
   username: string;
 }
 
@@ -7,3 +7,11 @@ export interface PageResponse<T> {
   first: boolean;
   last: boolean;
 }
+
+export interface ChangesResponse<T> {
+  changed: T[];
+  deleted: number[];
+  nextWatermark?: string;
+  hasMore: boolean;
+  resetRequired: boolean;
+}
@@ -11,4 +11,5 @@ export interface ProjectResponse {
   totalTasks: number;
   completedTasks: number;
   progressPercentage: number;
+  version: number;
 }
@@ -12,4 +12,5 @@ export interface TaskResponse {
   dueDate?: string;
   createdAt: string;
   projectId: number;
+  version: number;
 }
@@ -1,4 +1,5 @@
 const TOKEN_KEY = 'auth_token';
+const REFRESH_TOKEN_KEY = 'refresh_token';
 const USER_KEY = 'user_data';
 
 export const storage = {
@@ -13,6 +14,14 @@ export const storage = {
   removeToken: (): void => {
     localStorage.removeItem(TOKEN_KEY);
   },
+
+  getRefreshToken: (): string | null => {
+    return localStorage.getItem(REFRESH_TOKEN_KEY);
+  },
+
+  setRefreshToken: (token: string): void => {
+    localStorage.setItem(REFRESH_TOKEN_KEY, token);
+  },
   
   getUser: (): { username: string } | null => {
     const user = localStorage.getItem(USER_KEY);
@@ -29,6 +38,7 @@ export const storage = {
   
   clear: (): void => {
     localStorage.removeItem(TOKEN_KEY);
+    localStorage.removeItem(REFRESH_TOKEN_KEY);
     localStorage.removeItem(USER_KEY);
   }
 };
@@ -0,0 +1,108 @@
+package com.project.tasksapplication.benchmark;
+
+import com.project.tasksapplication.dto.response.ProjectResponse;
+import com.project.tasksapplication.dto.response.TaskResponse;
+import com.project.tasksapplication.mapper.ProjectMapper;
+import com.project.tasksapplication.mapper.TaskMapper;
+import com.project.tasksapplication.model.Project;
+import com.project.tasksapplication.model.Task;
+import com.project.tasksapplication.repository.projection.ProjectSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping cost per entity. {@code tasks} is the size of the project's loaded task collection; the
+ * mapper reads the denormalized counters, so the project benchmarks should not grow with it.
+ * The summary is mapped from a Spring Data projection proxy, as returned by the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"0", "100", "10000"})
+    private int tasks;
+
+    private final ProjectMapper projectMapper = new ProjectMapper();
+    private final TaskMapper taskMapper = new TaskMapper();
+
+    private Project project;
+    private ProjectSummary summary;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        project = Project.builder()
+                .id(1L)
+                .title("Quarterly planning")
+                .description("Everything that has to happen before the next release")
+                .createdAt(now)
+                .version(3L)
+                .tasks(new ArrayList<>())
+                .build();
+        List<Task> projectTasks = project.getTasks();
+        for (int i = 0; i < tasks; i++) {
+            projectTasks.add(Task.builder().id((long) i).title("Task " + i).completed(i % 3 == 0).project(project).build());
+        }
+        project.setTotalTasks(tasks);
+        project.setCompletedTasks((tasks + 2) / 3);
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1L);
+        row.put("title", project.getTitle());
+        row.put("description", project.getDescription());
+        row.put("createdAt", now);
+        row.put("totalTasks", project.getTotalTasks());
+        row.put("completedTasks", project.getCompletedTasks());
+        row.put("version", 3L);
+        row.put("updatedAt", now);
+        summary = new SpelAwareProxyProjectionFactory().createProjection(ProjectSummary.class, row);
+
+        task = Task.builder()
+                .id(42L)
+                .title("Write release notes")
+                .description("Collect the changes since the last tag")
+                .completed(false)
+                .dueDate(now.plusDays(7))
+                .createdAt(now)
+                .project(project)
+                .version(1L)
+                .build();
+    }
+
+    @Benchmark
+    public ProjectResponse projectToDto() {
+        return projectMapper.toDto(project);
+    }
+
+    @Benchmark
+    public ProjectResponse projectSummaryToDto() {
+        return projectMapper.toDto(summary);
+    }
+
+    @Benchmark
+    public TaskResponse taskToDto() {
+        return taskMapper.toDto(task);
+    }
+}
@@ -0,0 +1,73 @@
+package com.project.tasksapplication.benchmark;
+
+import com.project.tasksapplication.dto.response.PageResponse;
+import com.project.tasksapplication.dto.response.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing one page of the paginated task list, as written to the response body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private PageResponse<TaskResponse> page;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(TaskResponse.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description(i % 2 == 0 ? null : "Description of task " + i + " with a \"quoted\" word")
+                    .completed(i % 3 == 0)
+                    .dueDate(i % 4 == 0 ? now.plusDays(i) : null)
+                    .createdAt(now.minusMinutes(i))
+                    .projectId(1L)
+                    .version((long) i % 5)
+                    .build());
+        }
+        page = PageResponse.<TaskResponse>builder()
+                .content(content)
+                .page(0)
+                .size(pageSize)
+                .totalElements(pageSize * 10L)
+                .totalPages(10)
+                .first(true)
+                .last(false)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * JMH benchmarks for the per-request hot paths. Run with {@code mvn verify -Pbenchmark -DskipTests};
+ * results are written to {@code target/jmh-result.json}. Extra JMH options go into {@code -Djmh.args},
+ * e.g. {@code -Djmh.args="MapperBenchmark -p tasks=100"}.
+ */
+package com.project.tasksapplication.benchmark;
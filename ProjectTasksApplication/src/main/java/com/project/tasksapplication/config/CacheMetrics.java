@@ -0,0 +1,46 @@
+package com.project.tasksapplication.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Registers the standard Caffeine meters (gets, hits, misses, evictions, size) for a cache region and adds
+ * its hit ratio and an estimate of the heap it occupies, tagged with {@code cache=<name>}.
+ */
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+    }
+
+    /**
+     * @param bytesPerEntry approximate retained size of one entry including key, value and cache overhead
+     */
+    public static void monitor(MeterRegistry meterRegistry, Cache<?, ?> cache, String name, long bytesPerEntry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.memory.estimated", cache, c -> (double) c.estimatedSize() * bytesPerEntry)
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * For caches bounded by a weigher that returns approximate bytes, so the weighted size is the footprint.
+     */
+    public static void monitorWeighted(MeterRegistry meterRegistry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.memory.estimated", cache, c -> (double) c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+}
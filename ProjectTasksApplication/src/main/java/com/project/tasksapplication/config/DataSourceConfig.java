@@ -0,0 +1,48 @@
+package com.project.tasksapplication.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        Binder binder = Binder.get(environment);
+        boolean enabled = binder.bind("app.datasource.concurrency-limit.enabled", Boolean.class).orElse(true);
+        int maxConcurrent = binder.bind("app.datasource.concurrency-limit.max-concurrent", Integer.class)
+                .orElseGet(() -> binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class).orElse(10));
+        Duration acquireTimeout = binder.bind("app.datasource.concurrency-limit.acquire-timeout", Duration.class)
+                .orElse(Duration.ofSeconds(5));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    return new ConcurrencyLimitingDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitingDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitingDataSource limited) {
+                Gauge.builder("app.datasource.concurrency.available", limited, ConcurrencyLimitingDataSource::getAvailablePermits)
+                        .register(registry);
+                Gauge.builder("app.datasource.concurrency.waiting", limited, ConcurrencyLimitingDataSource::getQueueLength)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.tasksapplication.controller;
 
 import com.project.tasksapplication.dto.request.LoginRequest;
+import com.project.tasksapplication.dto.request.RefreshTokenRequest;
 import com.project.tasksapplication.dto.request.RegisterRequest;
 import com.project.tasksapplication.dto.response.AuthResponse;
 import com.project.tasksapplication.service.AuthService;
@@ -30,4 +31,15 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
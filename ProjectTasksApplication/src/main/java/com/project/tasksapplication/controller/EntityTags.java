@@ -0,0 +1,69 @@
+package com.project.tasksapplication.controller;
+
+import com.project.tasksapplication.dto.response.ProjectResponse;
+import com.project.tasksapplication.dto.response.TaskResponse;
+import com.project.tasksapplication.exception.PreconditionFailedException;
+import com.project.tasksapplication.repository.projection.ChangeFingerprint;
+import org.springframework.http.CacheControl;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.TreeMap;
+
+/**
+ * Builds the strong entity tags sent with GET responses and reads the version out of If-Match headers.
+ * Single resources are tagged with their version (projects also with their task counters, which change
+ * without bumping the version); collections are tagged with a hash of the fingerprint of the rows behind
+ * them and the query parameters that shaped the response.
+ */
+final class EntityTags {
+
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private EntityTags() {
+    }
+
+    static String of(TaskResponse task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    static String of(ProjectResponse project) {
+        return "\"" + project.getVersion() + "." + project.getTotalTasks() + "." + project.getCompletedTasks() + "\"";
+    }
+
+    static String of(ChangeFingerprint fingerprint, WebRequest request) {
+        StringBuilder source = new StringBuilder()
+                .append(fingerprint.getRowCount()).append('|')
+                .append(fingerprint.getVersionSum()).append('|')
+                .append(fingerprint.getLastUpdated());
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) ->
+                source.append('|').append(name).append('=').append(String.join(",", values)));
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Returns the version the client expects to overwrite, or null when the request is unconditional.
+     * Only the leading version part of a tag is compared, so a project edit is not rejected just because
+     * its task counters moved. Weak tags never match, as If-Match requires strong comparison.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("Precondition failed: weak entity tags cannot be used with If-Match");
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match header");
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int separator = value.indexOf('.');
+        try {
+            return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("Precondition failed: resource has been modified");
+        }
+    }
+}
@@ -1,22 +1,51 @@
 package com.project.tasksapplication.controller;
 
+import com.project.tasksapplication.service.ReadinessProbe;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/health")
+@RequiredArgsConstructor
 public class HealthController {
 
-    @GetMapping
-    public ResponseEntity<Map<String, String>> health() {
-        Map<String, String> response = new HashMap<>();
-        response.put("status", "UP");
-        return ResponseEntity.ok(response);
+    private final ApplicationAvailability applicationAvailability;
+    private final ReadinessProbe readinessProbe;
+
+    @GetMapping({"", "/live"})
+    public ResponseEntity<Map<String, Object>> liveness() {
+        boolean live = applicationAvailability.getLivenessState() == LivenessState.CORRECT;
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", live ? "UP" : "DOWN");
+        return ResponseEntity.status(live ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
-}
 
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> readiness() {
+        ReadinessProbe.Report report = readinessProbe.check();
+        List<String> reasons = new ArrayList<>(report.reasons());
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            reasons.add(0, "application is not accepting traffic");
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", reasons.isEmpty() ? "READY" : "NOT_READY");
+        if (!reasons.isEmpty()) {
+            response.put("reasons", reasons);
+        }
+        response.putAll(report.details());
+        return ResponseEntity.status(reasons.isEmpty() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+}
@@ -1,14 +1,19 @@
 package com.project.tasksapplication.controller;
 
 import com.project.tasksapplication.dto.request.ProjectRequest;
+import com.project.tasksapplication.dto.response.ChangesResponse;
 import com.project.tasksapplication.dto.response.PageResponse;
 import com.project.tasksapplication.dto.response.ProjectResponse;
+import com.project.tasksapplication.service.ChangeFeedService;
+import com.project.tasksapplication.service.ProjectListCache;
 import com.project.tasksapplication.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,21 +23,36 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ChangeFeedService changeFeedService;
 
     @GetMapping
     public ResponseEntity<?> getAllProjects(
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "10") int size,
-            @RequestParam(required = false, defaultValue = "false") boolean paginated) {
-        if (paginated) {
-            return ResponseEntity.ok(projectService.getAllUserProjectsPaginated(page, size));
+            @RequestParam(required = false, defaultValue = "false") boolean paginated,
+            @RequestParam(required = false, defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "true") boolean includeTotal,
+            WebRequest webRequest) {
+        ProjectListCache.Listing listing = projectService.getProjectListing(page, size, paginated, keyset, cursor, includeTotal);
+        String etag = EntityTags.of(listing.fingerprint(), webRequest);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(EntityTags.REVALIDATE).build();
         }
-        return ResponseEntity.ok(projectService.getAllUserProjects());
+        return ResponseEntity.ok().eTag(etag).cacheControl(EntityTags.REVALIDATE).body(listing.body());
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ChangesResponse<ProjectResponse>> getProjectChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false, defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeedService.getProjectChanges(since, limit));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id) {
-        return ResponseEntity.ok(projectService.getProjectById(id));
+        ProjectResponse project = projectService.getProjectById(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(project)).cacheControl(EntityTags.REVALIDATE).body(project);
     }
 
     @PostMapping
@@ -43,8 +63,10 @@ public class ProjectController {
     @PutMapping("/{id}")
     public ResponseEntity<ProjectResponse> updateProject(
             @PathVariable Long id,
-            @Valid @RequestBody ProjectRequest request) {
-        return ResponseEntity.ok(projectService.updateProject(id, request));
+            @Valid @RequestBody ProjectRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProjectResponse project = projectService.updateProject(id, request, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(project)).body(project);
     }
 
     @DeleteMapping("/{id}")
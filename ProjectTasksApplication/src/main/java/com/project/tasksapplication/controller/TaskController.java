@@ -1,15 +1,33 @@
 package com.project.tasksapplication.controller;
 
+import com.project.tasksapplication.dto.request.TaskBatchCreateRequest;
+import com.project.tasksapplication.dto.request.TaskBatchDeleteRequest;
+import com.project.tasksapplication.dto.request.TaskBatchStatusRequest;
+import com.project.tasksapplication.dto.request.TaskDataFormat;
+import com.project.tasksapplication.dto.request.TaskPatchRequest;
 import com.project.tasksapplication.dto.request.TaskRequest;
+import com.project.tasksapplication.dto.request.TaskSearchMode;
+import com.project.tasksapplication.dto.response.ChangesResponse;
 import com.project.tasksapplication.dto.response.PageResponse;
+import com.project.tasksapplication.dto.response.TaskBatchResponse;
+import com.project.tasksapplication.dto.response.TaskImportResponse;
 import com.project.tasksapplication.dto.response.TaskResponse;
+import com.project.tasksapplication.service.ChangeFeedService;
+import com.project.tasksapplication.service.TaskExportService;
+import com.project.tasksapplication.service.TaskImportService;
 import com.project.tasksapplication.service.TaskService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -18,6 +36,9 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final ChangeFeedService changeFeedService;
 
     @PostMapping("/projects/{projectId}/tasks")
     public ResponseEntity<TaskResponse> createTask(
@@ -26,6 +47,27 @@ public class TaskController {
         return new ResponseEntity<>(taskService.createTask(projectId, request), HttpStatus.CREATED);
     }
 
+    @PostMapping("/projects/{projectId}/tasks:batch")
+    public ResponseEntity<TaskBatchResponse> createTasks(
+            @PathVariable Long projectId,
+            @Valid @RequestBody TaskBatchCreateRequest request) {
+        return new ResponseEntity<>(taskService.createTasks(projectId, request), HttpStatus.CREATED);
+    }
+
+    @PatchMapping("/projects/{projectId}/tasks:batch")
+    public ResponseEntity<TaskBatchResponse> updateTasksStatus(
+            @PathVariable Long projectId,
+            @Valid @RequestBody TaskBatchStatusRequest request) {
+        return ResponseEntity.ok(taskService.updateTasksStatus(projectId, request));
+    }
+
+    @DeleteMapping("/projects/{projectId}/tasks:batch")
+    public ResponseEntity<TaskBatchResponse> deleteTasks(
+            @PathVariable Long projectId,
+            @Valid @RequestBody TaskBatchDeleteRequest request) {
+        return ResponseEntity.ok(taskService.deleteTasks(projectId, request));
+    }
+
     @GetMapping("/projects/{projectId}/tasks")
     public ResponseEntity<?> getTasksByProject(
             @PathVariable Long projectId,
@@ -33,25 +75,89 @@ public class TaskController {
             @RequestParam(required = false, defaultValue = "10") int size,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Boolean completed,
-            @RequestParam(required = false, defaultValue = "false") boolean paginated) {
-        if (paginated) {
-            return ResponseEntity.ok(taskService.getTasksByProjectIdPaginated(projectId, page, size, search, completed));
+            @RequestParam(required = false, defaultValue = "substring") String mode,
+            @RequestParam(required = false, defaultValue = "false") boolean paginated,
+            @RequestParam(required = false, defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "true") boolean includeTotal,
+            WebRequest webRequest) {
+        boolean useKeyset = keyset || cursor != null;
+        if (useKeyset && search != null && !search.isBlank()) {
+            throw new IllegalArgumentException("Search is not supported with keyset pagination");
+        }
+
+        String etag = EntityTags.of(taskService.getTasksFingerprint(projectId), webRequest);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(EntityTags.REVALIDATE).build();
         }
-        return ResponseEntity.ok(taskService.getTasksByProjectId(projectId));
+
+        Object body;
+        if (useKeyset) {
+            body = taskService.getTasksByProjectIdKeyset(projectId, cursor, size, completed, includeTotal);
+        } else if (paginated) {
+            body = taskService.getTasksByProjectIdPaginated(projectId, page, size, search, completed, TaskSearchMode.from(mode));
+        } else {
+            body = taskService.getTasksByProjectId(projectId);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(EntityTags.REVALIDATE).body(body);
+    }
+
+    @GetMapping("/projects/{projectId}/tasks/changes")
+    public ResponseEntity<ChangesResponse<TaskResponse>> getTaskChanges(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false, defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeedService.getTaskChanges(projectId, since, limit));
+    }
+
+    @GetMapping("/projects/{projectId}/tasks:export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @PathVariable Long projectId,
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Boolean completed) {
+        TaskDataFormat exportFormat = TaskDataFormat.from(format);
+        StreamingResponseBody body = taskExportService.exportTasks(projectId, search, completed, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"project-" + projectId + "-tasks." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @PostMapping("/projects/{projectId}/tasks:import")
+    public ResponseEntity<TaskImportResponse> importTasks(
+            @PathVariable Long projectId,
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(taskImportService.importTasks(projectId, request.getInputStream(), TaskDataFormat.from(format)));
     }
 
     @PutMapping("/tasks/{taskId}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long taskId,
-            @Valid @RequestBody TaskRequest request) {
-        return ResponseEntity.ok(taskService.updateTask(taskId, request));
+            @Valid @RequestBody TaskRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponse task = taskService.updateTask(taskId, request, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(task)).body(task);
+    }
+
+    @PatchMapping("/tasks/{taskId}")
+    public ResponseEntity<Void> patchTask(
+            @PathVariable Long taskId,
+            @Valid @RequestBody TaskPatchRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.patchTask(taskId, request, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.noContent().build();
     }
 
     @PatchMapping("/tasks/{taskId}/status")
-    public ResponseEntity<TaskResponse> updateTaskStatus(
+    public ResponseEntity<Void> updateTaskStatus(
             @PathVariable Long taskId,
-            @RequestParam boolean completed) {
-        return ResponseEntity.ok(taskService.updateTaskStatus(taskId, completed));
+            @RequestParam boolean completed,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.updateTaskStatus(taskId, completed, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/tasks/{taskId}")
@@ -0,0 +1,15 @@
+package com.project.tasksapplication.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchCreateRequest {
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 5000, message = "A batch can contain at most 5000 tasks")
+    private List<@Valid TaskRequest> tasks;
+}
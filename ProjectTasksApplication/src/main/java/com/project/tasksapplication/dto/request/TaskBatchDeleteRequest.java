@@ -0,0 +1,15 @@
+package com.project.tasksapplication.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchDeleteRequest {
+    @NotEmpty(message = "At least one task id is required")
+    @Size(max = 5000, message = "A batch can contain at most 5000 tasks")
+    private List<@NotNull Long> taskIds;
+}
@@ -0,0 +1,18 @@
+package com.project.tasksapplication.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchStatusRequest {
+    @NotEmpty(message = "At least one task id is required")
+    @Size(max = 5000, message = "A batch can contain at most 5000 tasks")
+    private List<@NotNull Long> taskIds;
+
+    @NotNull(message = "Completed is required")
+    private Boolean completed;
+}
@@ -0,0 +1,57 @@
+package com.project.tasksapplication.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Partial task update with JSON merge-patch semantics: fields absent from the body are left unchanged,
+ * fields sent as null are cleared.
+ */
+@Getter
+public class TaskPatchRequest {
+    @Size(max = 255, message = "Title must be at most 255 characters")
+    private String title;
+
+    private String description;
+
+    private LocalDateTime dueDate;
+
+    @JsonIgnore
+    private boolean titlePresent;
+
+    @JsonIgnore
+    private boolean descriptionPresent;
+
+    @JsonIgnore
+    private boolean dueDatePresent;
+
+    public void setTitle(String title) {
+        this.title = title;
+        this.titlePresent = true;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionPresent = true;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+        this.dueDatePresent = true;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return !titlePresent && !descriptionPresent && !dueDatePresent;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Title must not be blank")
+    public boolean isTitleValid() {
+        return !titlePresent || (title != null && !title.isBlank());
+    }
+}
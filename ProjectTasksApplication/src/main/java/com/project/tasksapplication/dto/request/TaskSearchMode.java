@@ -0,0 +1,18 @@
+package com.project.tasksapplication.dto.request;
+
+public enum TaskSearchMode {
+    SUBSTRING,
+    FULLTEXT;
+
+    public static TaskSearchMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return SUBSTRING;
+        }
+        for (TaskSearchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Invalid search mode: " + value + " (expected fulltext or substring)");
+    }
+}
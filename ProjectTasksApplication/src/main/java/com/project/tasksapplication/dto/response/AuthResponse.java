@@ -8,10 +8,14 @@ import lombok.Data;
 public class AuthResponse {
     private String token;
     private String tokenType = "Bearer";
+    private long expiresIn;
+    private String refreshToken;
     private String username;
 
-    public AuthResponse(String token, String username) {
+    public AuthResponse(String token, long expiresIn, String refreshToken, String username) {
         this.token = token;
+        this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
         this.username = username;
     }
 }
@@ -0,0 +1,20 @@
+package com.project.tasksapplication.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangesResponse<T> {
+    private List<T> changed;
+    private List<Long> deleted;
+    private String nextWatermark;
+    private boolean hasMore;
+    private boolean resetRequired;
+}
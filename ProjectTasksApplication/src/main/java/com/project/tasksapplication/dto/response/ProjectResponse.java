@@ -16,4 +16,6 @@ public class ProjectResponse {
     private int totalTasks;
     private int completedTasks;
     private double progressPercentage;
+
+    private Long version;
 }
\ No newline at end of file
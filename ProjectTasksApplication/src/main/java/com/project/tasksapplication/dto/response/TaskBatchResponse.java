@@ -0,0 +1,21 @@
+package com.project.tasksapplication.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResponse {
+    private int requested;
+    private int affected;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Long> ids;
+}
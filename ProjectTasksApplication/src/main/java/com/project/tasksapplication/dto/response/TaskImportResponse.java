@@ -0,0 +1,29 @@
+package com.project.tasksapplication.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResponse {
+    private long processed;
+    private long imported;
+    private long failed;
+    private List<LineError> errors;
+    private boolean errorsTruncated;
+    private long durationMillis;
+    private double recordsPerSecond;
+
+    @Data
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
@@ -15,4 +15,5 @@ public class TaskResponse {
     private LocalDateTime dueDate;
     private LocalDateTime createdAt;
     private Long projectId;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.project.tasksapplication.event;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.LinkedHashMap;
+
+/**
+ * A committed change to a user's tasks or projects. Events only say what changed; clients fetch the
+ * current state through the change feed, so a dropped event costs a resync and never stale data.
+ */
+public record ChangeEvent(Long userId, Entity entity, Type type, Long id, Long projectId) {
+
+    public enum Entity { TASK, PROJECT }
+
+    public enum Type { CREATED, UPDATED, STATUS_CHANGED, DELETED, BULK_CHANGED }
+
+    public static ChangeEvent task(Long userId, Type type, Long taskId, Long projectId) {
+        return new ChangeEvent(userId, Entity.TASK, type, taskId, projectId);
+    }
+
+    public static ChangeEvent tasks(Long userId, Long projectId) {
+        return new ChangeEvent(userId, Entity.TASK, Type.BULK_CHANGED, null, projectId);
+    }
+
+    public static ChangeEvent project(Long userId, Type type, Long projectId) {
+        return new ChangeEvent(userId, Entity.PROJECT, type, projectId, projectId);
+    }
+
+    public String name() {
+        return entity.name().toLowerCase(Locale.ROOT) + "." + type.name().toLowerCase(Locale.ROOT);
+    }
+
+    Map<String, Object> payload() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        if (id != null) {
+            payload.put("id", id);
+        }
+        payload.put("projectId", projectId);
+        return payload;
+    }
+}
@@ -0,0 +1,220 @@
+package com.project.tasksapplication.event;
+
+import com.project.tasksapplication.security.AccessToken;
+import com.project.tasksapplication.security.SecurityUtils;
+import com.project.tasksapplication.security.SessionRevokedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans change events out to the SSE connections of this instance. Publishing never blocks: each
+ * subscriber has a bounded buffer that is drained on its own virtual thread, and a subscriber whose
+ * buffer overflows is disconnected instead of slowing down everyone else. A disconnected client
+ * reconnects and catches up through the change feed. A connection lasts no longer than the access
+ * token it was opened with and is closed when that token's session is revoked.
+ */
+@Slf4j
+@Component
+public class ChangeEventHub {
+
+    private final Map<Long, Deque<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final Counter evictions;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final Duration emitterTimeout;
+
+    @Autowired
+    public ChangeEventHub(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.events.buffer-size:256}") int bufferSize,
+            @Value("${app.events.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${app.events.emitter-timeout:30m}") Duration emitterTimeout) {
+        this(objectMapper, meterRegistry, bufferSize, maxConnectionsPerUser, emitterTimeout,
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    ChangeEventHub(ObjectMapper objectMapper, MeterRegistry meterRegistry, int bufferSize, int maxConnectionsPerUser,
+                   Duration emitterTimeout, ExecutorService executor) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.emitterTimeout = emitterTimeout;
+        this.executor = executor;
+        this.evictions = meterRegistry.counter("app.events.evictions");
+        meterRegistry.gauge("app.events.subscribers", subscriberCount);
+    }
+
+    public SseEmitter subscribe() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        AccessToken accessToken = SecurityUtils.getCurrentAccessToken().orElse(null);
+        UUID sessionId = accessToken != null ? accessToken.sessionId() : null;
+        long timeoutMillis = emitterTimeout.toMillis();
+        if (accessToken != null) {
+            long untilExpiry = Duration.between(Instant.now(), accessToken.expiresAt()).toMillis();
+            timeoutMillis = Math.max(1, Math.min(timeoutMillis, untilExpiry));
+        }
+        Subscriber subscriber = new Subscriber(userId, sessionId, new SseEmitter(timeoutMillis), bufferSize);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> close(subscriber));
+        subscriber.emitter.onError(ex -> remove(subscriber));
+
+        // Adding and evicting under the map's lock for this user, so a concurrent remove of the last
+        // connection cannot unmap the deque in between and leave this subscriber unreachable
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, connections) -> {
+            Deque<Subscriber> current = connections != null ? connections : new ConcurrentLinkedDeque<>();
+            current.add(subscriber);
+            while (current.size() > maxConnectionsPerUser) {
+                evicted.add(current.pollFirst());
+            }
+            return current;
+        });
+        subscriberCount.incrementAndGet();
+        evicted.forEach(this::close);
+
+        offer(subscriber, SseEmitter.event().name("ready").data("{}", MediaType.APPLICATION_JSON));
+        return subscriber.emitter;
+    }
+
+    public void publish(ChangeEvent event) {
+        Deque<Subscriber> connections = subscribers.get(event.userId());
+        if (connections == null || connections.isEmpty()) {
+            return;
+        }
+        String data = objectMapper.writeValueAsString(event.payload());
+        for (Subscriber subscriber : connections) {
+            offer(subscriber, SseEmitter.event().name(event.name()).data(data, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Tells every local client that events may have been missed, e.g. after the cross-instance channel
+     * reconnected, so that it runs the change feed instead of waiting for the next event.
+     */
+    public void broadcastResync() {
+        subscribers.values().forEach(connections -> connections.forEach(subscriber ->
+                offer(subscriber, SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON))));
+    }
+
+    @EventListener
+    public void onSessionRevoked(SessionRevokedEvent event) {
+        subscribers.values().forEach(connections -> connections.stream()
+                .filter(subscriber -> event.sessionId().equals(subscriber.sessionId))
+                .forEach(this::close));
+    }
+
+    @Scheduled(fixedRateString = "${app.events.heartbeat-interval:25s}")
+    public void heartbeat() {
+        subscribers.values().forEach(connections -> connections.forEach(subscriber ->
+                offer(subscriber, SseEmitter.event().comment("keepalive"))));
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(connections -> connections.forEach(this::close));
+        executor.shutdownNow();
+    }
+
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(event)) {
+            evictions.increment();
+            log.debug("Disconnecting slow SSE subscriber of user {}", subscriber.userId);
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed.get() && (event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            close(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.closed.get() && !subscriber.buffer.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        remove(subscriber);
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // already completed by the container
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscriber.buffer.clear();
+        subscribers.computeIfPresent(subscriber.userId, (userId, connections) -> {
+            connections.remove(subscriber);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final UUID sessionId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Long userId, UUID sessionId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.sessionId = sessionId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
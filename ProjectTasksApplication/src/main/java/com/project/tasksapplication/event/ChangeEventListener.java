@@ -0,0 +1,18 @@
+package com.project.tasksapplication.event;
+
+/**
+ * In-process consumer of committed changes, e.g. a cache that must drop what a change made stale. It is
+ * called synchronously after the local commit and again for every change received from other instances,
+ * so implementations must be cheap and idempotent.
+ */
+public interface ChangeEventListener {
+
+    void onChange(ChangeEvent event);
+
+    /**
+     * Called when changes may have been missed, after which nothing derived from earlier changes can be
+     * trusted.
+     */
+    default void onResync() {
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.tasksapplication.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Forwards change events once the transaction that produced them has committed, so a client never
+ * hears about a change it cannot read yet and rolled back changes are never announced. Local listeners
+ * are notified first and synchronously, so this instance serves its own writes right away. With the
+ * PostgreSQL channel enabled the notification is queued in the producing transaction just before it
+ * commits, and comes back through the database to every instance, this one included.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeEventRelay {
+
+    private final ChangeEventHub hub;
+    private final List<ChangeEventListener> listeners;
+    private final ObjectProvider<PgNotifyChannel> notifyChannel;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeCommit(ChangeEvent event) {
+        PgNotifyChannel channel = notifyChannel.getIfAvailable();
+        if (channel != null) {
+            channel.publish(event);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        listeners.forEach(listener -> listener.onChange(event));
+        PgNotifyChannel channel = notifyChannel.getIfAvailable();
+        if (channel == null) {
+            hub.publish(event);
+        } else if (!TransactionSynchronizationManager.isSynchronizationActive() && !channel.publish(event)) {
+            // published outside a transaction, so nothing was queued before commit
+            hub.publish(event);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.project.tasksapplication.event;
+
+import com.project.tasksapplication.security.TokenDenyList;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Carries change events between application instances over PostgreSQL LISTEN/NOTIFY, so that a client
+ * connected to one instance hears about changes made through another. Revoked sessions travel on a
+ * second channel, so every instance rejects their access tokens. Listening uses a dedicated connection
+ * outside the pool, since it is held for the lifetime of the application. After the listener reconnects,
+ * notifications sent in between are lost, so local listeners and every local client are told to resync;
+ * revocations missed that way only hold for the instance that made them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.pg-notify.enabled", havingValue = "true")
+public class PgNotifyChannel implements SmartLifecycle {
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final ChangeEventHub hub;
+    private final List<ChangeEventListener> listeners;
+    private final TokenDenyList tokenDenyList;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final String revocationChannel;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private volatile boolean running;
+    private volatile Thread listener;
+
+    public PgNotifyChannel(
+            ChangeEventHub hub,
+            List<ChangeEventListener> listeners,
+            TokenDenyList tokenDenyList,
+            ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.events.pg-notify.channel:change_events}") String channel,
+            @Value("${app.events.pg-notify.revocation-channel:session_revocations}") String revocationChannel,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password) {
+        for (String name : List.of(channel, revocationChannel)) {
+            if (!name.matches("[a-z_][a-z0-9_]*")) {
+                throw new IllegalArgumentException("Invalid notification channel name: " + name);
+            }
+        }
+        this.hub = hub;
+        this.listeners = listeners;
+        this.tokenDenyList = tokenDenyList;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.revocationChannel = revocationChannel;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Sends the event to all instances. Inside a transaction the notification goes out on that
+     * transaction's connection and PostgreSQL only delivers it on commit, so no second connection is
+     * needed; a failure there fails the transaction, which PostgreSQL has aborted anyway. Outside a
+     * transaction returns false if the notification could not be sent.
+     */
+    public boolean publish(ChangeEvent event) {
+        return send(channel, objectMapper.writeValueAsString(event));
+    }
+
+    /**
+     * Tells all instances to reject the session's access tokens, on the same terms as {@link #publish}.
+     */
+    public boolean publishRevocation(UUID sessionId) {
+        return send(revocationChannel, sessionId.toString());
+    }
+
+    private boolean send(String name, String payload) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            notify(name, payload);
+            return true;
+        }
+        try {
+            notify(name, payload);
+            return true;
+        } catch (DataAccessException ex) {
+            log.warn("Could not send {} notification, applying locally only: {}", name, ex.getMessage());
+            return false;
+        }
+    }
+
+    private void notify(String name, String payload) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, name, payload);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("pg-notify-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = listener;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        long backoffMillis = 500;
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                    statement.execute("LISTEN " + revocationChannel);
+                }
+                if (reconnect) {
+                    listeners.forEach(ChangeEventListener::onResync);
+                    hub.broadcastResync();
+                }
+                log.info("Listening for change notifications on channel {}", channel);
+                backoffMillis = 500;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(10_000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            if (revocationChannel.equals(notification.getName())) {
+                                revoke(notification.getParameter());
+                            } else {
+                                dispatch(notification.getParameter());
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Change notification listener lost its connection, retrying in {} ms: {}",
+                        backoffMillis, ex.getMessage());
+                reconnect = true;
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF.toMillis());
+            }
+        }
+    }
+
+    private void revoke(String payload) {
+        try {
+            tokenDenyList.revoke(UUID.fromString(payload));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring malformed session revocation: {}", payload);
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            ChangeEvent event = objectMapper.readValue(payload, ChangeEvent.class);
+            listeners.forEach(listener -> listener.onChange(event));
+            hub.publish(event);
+        } catch (JacksonException ex) {
+            log.warn("Ignoring malformed change notification: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.tasksapplication.exception;
+
+/**
+ * Thrown when an If-Match precondition does not hold because the resource has changed since the client read it.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.tasksapplication.exception;
+
+/**
+ * Thrown when a bounded resource is saturated and the request should be retried later instead of queueing.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
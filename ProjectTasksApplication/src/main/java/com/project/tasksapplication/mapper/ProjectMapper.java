@@ -4,10 +4,8 @@ package com.project.tasksapplication.mapper;
 import com.project.tasksapplication.dto.request.ProjectRequest;
 import com.project.tasksapplication.dto.response.ProjectResponse;
 import com.project.tasksapplication.model.Project;
-import com.project.tasksapplication.model.Task;
+import com.project.tasksapplication.repository.projection.ProjectSummary;
 import org.springframework.stereotype.Component;
-import java.util.ArrayList;
-import java.util.List;
 
 @Component
 public class ProjectMapper {
@@ -20,19 +18,8 @@ public class ProjectMapper {
     }
 
     public ProjectResponse toDto(Project project) {
-        List<Task> tasks = project.getTasks();
-
-        if (tasks == null) {
-            tasks = new ArrayList<>();
-        }
-
-        int totalTasks = tasks.size();
-        int completedTasks = (int) tasks.stream().filter(Task::isCompleted).count();
-
-        double progressPercentage = 0.0;
-        if (totalTasks > 0) {
-            progressPercentage = ((double) completedTasks / totalTasks) * 100;
-        }
+        int totalTasks = project.getTotalTasks();
+        int completedTasks = project.getCompletedTasks();
 
         return ProjectResponse.builder()
                 .id(project.getId())
@@ -41,7 +28,32 @@ public class ProjectMapper {
                 .createdAt(project.getCreatedAt())
                 .totalTasks(totalTasks)
                 .completedTasks(completedTasks)
-                .progressPercentage(Math.round(progressPercentage * 100.0) / 100.0)
+                .progressPercentage(progressPercentage(totalTasks, completedTasks))
+                .version(project.getVersion())
                 .build();
     }
-}
\ No newline at end of file
+
+    public ProjectResponse toDto(ProjectSummary summary) {
+        int totalTasks = summary.getTotalTasks();
+        int completedTasks = summary.getCompletedTasks();
+
+        return ProjectResponse.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .description(summary.getDescription())
+                .createdAt(summary.getCreatedAt())
+                .totalTasks(totalTasks)
+                .completedTasks(completedTasks)
+                .progressPercentage(progressPercentage(totalTasks, completedTasks))
+                .version(summary.getVersion())
+                .build();
+    }
+
+    private double progressPercentage(int totalTasks, int completedTasks) {
+        double progressPercentage = 0.0;
+        if (totalTasks > 0) {
+            progressPercentage = ((double) completedTasks / totalTasks) * 100;
+        }
+        return Math.round(progressPercentage * 100.0) / 100.0;
+    }
+}
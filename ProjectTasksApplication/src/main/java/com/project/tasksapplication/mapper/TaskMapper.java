@@ -26,6 +26,7 @@ public class TaskMapper {
                 .dueDate(task.getDueDate())
                 .createdAt(task.getCreatedAt())
                 .projectId(task.getProject().getId())
+                .version(task.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -3,7 +3,9 @@ package com.project.tasksapplication.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -41,12 +43,26 @@ public class Project {
     private List<Task> tasks = new ArrayList<>();
 
 
-    @CreationTimestamp
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int totalTasks;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int completedTasks;
+
+
+    @CreationTimestamp(source = SourceType.DB)
     @Column(nullable = false)
     private LocalDateTime createdAt ;
 
-    @UpdateTimestamp
+    @UpdateTimestamp(source = SourceType.DB)
     private LocalDateTime updatedAt ;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
 
 }
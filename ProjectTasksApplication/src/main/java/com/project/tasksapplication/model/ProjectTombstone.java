@@ -0,0 +1,25 @@
+package com.project.tasksapplication.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "project_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectTombstone {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
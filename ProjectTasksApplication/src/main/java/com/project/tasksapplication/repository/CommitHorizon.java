@@ -0,0 +1,70 @@
+package com.project.tasksapplication.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Tells the change feed up to which timestamp every write is final. Change feed columns are stamped
+ * with the writing transaction's start time on the database clock (LOCALTIMESTAMP), so a transaction
+ * still in flight has stamped, or will stamp, its rows at or after its own start. On PostgreSQL the
+ * horizon is therefore the start of the oldest open transaction of any client session, or the current
+ * database time when there is none; rows stamped before it have all committed. Neither the JVM clocks
+ * of the instances nor the length of a transaction matter.
+ * <p>
+ * Long transactions hold the horizon back until they end; transactions known never to write can opt
+ * out with {@link #excludeCurrentTransaction()}. Other databases (H2 in tests) have no view of open
+ * transactions and fall back to {@code app.sync.commit-window} behind the database clock.
+ */
+@Repository
+public class CommitHorizon {
+
+    static final String READ_ONLY_APPLICATION_NAME = "tasks-read-only";
+
+    private static final String POSTGRES_HORIZON_SQL =
+            "SELECT LEAST(clock_timestamp(), MIN(xact_start))::timestamp FROM pg_stat_activity " +
+            "WHERE datname = current_database() AND backend_type = 'client backend' " +
+            "AND pid <> pg_backend_pid() AND xact_start IS NOT NULL " +
+            "AND application_name IS DISTINCT FROM '" + READ_ONLY_APPLICATION_NAME + "'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration commitWindow;
+    private volatile Boolean postgres;
+
+    public CommitHorizon(JdbcTemplate jdbcTemplate, @Value("${app.sync.commit-window:2s}") Duration commitWindow) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.commitWindow = commitWindow;
+    }
+
+    public LocalDateTime current() {
+        if (isPostgres()) {
+            return jdbcTemplate.queryForObject(POSTGRES_HORIZON_SQL, LocalDateTime.class);
+        }
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class).minus(commitWindow);
+    }
+
+    /**
+     * Marks the current transaction as read-only for the horizon, so a long export does not stall the
+     * change feed. Must only be called from transactions that write nothing.
+     */
+    public void excludeCurrentTransaction() {
+        if (isPostgres()) {
+            jdbcTemplate.queryForObject("SELECT set_config('application_name', ?, true)", String.class,
+                    READ_ONLY_APPLICATION_NAME);
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -1,11 +1,18 @@
 package com.project.tasksapplication.repository;
 
 import com.project.tasksapplication.model.Project;
+import com.project.tasksapplication.repository.projection.ChangeFingerprint;
+import com.project.tasksapplication.repository.projection.ProjectSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,9 +20,102 @@ import java.util.Optional;
 @Repository
 public interface ProjectRepository extends JpaRepository<Project,Long> {
 
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.title AS title, p.description AS description, p.createdAt AS createdAt, " +
+            "p.totalTasks AS totalTasks, p.completedTasks AS completedTasks, p.version AS version, " +
+            "p.updatedAt AS updatedAt " +
+            "FROM Project p " +
+            "WHERE p.user.id = :userId";
+
     List<Project> findByUserId(Long userId);
     
     Page<Project> findByUserId(Long userId, Pageable pageable);
 
     Optional<Project> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT p.user.id FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findOwnerIdById(@Param("projectId") Long projectId);
+
+    @Query(SUMMARY_SELECT)
+    List<ProjectSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(value = SUMMARY_SELECT,
+           countQuery = "SELECT COUNT(p) FROM Project p WHERE p.user.id = :userId")
+    Page<ProjectSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProjectSummary> findFirstKeysetPage(@Param("userId") Long userId, Limit limit);
+
+    @Query(SUMMARY_SELECT + " AND (p.createdAt, p.id) < (:createdAt, :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProjectSummary> findKeysetPageAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    long countByUserId(Long userId);
+
+    @Query(SUMMARY_SELECT + " AND " +
+           "(p.updatedAt, p.id) > (:updatedAt, :id) AND " +
+           "p.updatedAt < :upTo " +
+           "ORDER BY p.updatedAt ASC, p.id ASC")
+    List<ProjectSummary> findChangedSummariesAfter(
+            @Param("userId") Long userId,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("id") Long id,
+            @Param("upTo") LocalDateTime upTo,
+            Limit limit);
+
+    @Query("SELECT COUNT(p) AS rowCount, COALESCE(SUM(p.version), 0) AS versionSum, MAX(p.updatedAt) AS lastUpdated " +
+           "FROM Project p WHERE p.user.id = :userId")
+    ChangeFingerprint findProjectsFingerprint(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(t) AS rowCount, COALESCE(SUM(t.version), 0) AS versionSum, MAX(t.updatedAt) AS lastUpdated " +
+           "FROM Project p LEFT JOIN p.tasks t WHERE p.id = :projectId AND p.user.id = :userId GROUP BY p.id")
+    Optional<ChangeFingerprint> findTasksFingerprint(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    /*
+     * Counter changes move updated_at but not version: the project's representation (and so its ETag and
+     * change feed position) changes, while edits guarded by If-Match are not invalidated by task activity.
+     * updated_at is the transaction start on the database clock, see CommitHorizon.
+     */
+
+    @Modifying
+    @Query(value = "UPDATE projects SET total_tasks = total_tasks + :totalDelta, " +
+                   "completed_tasks = completed_tasks + :completedDelta, updated_at = LOCALTIMESTAMP WHERE id = :projectId",
+           nativeQuery = true)
+    int adjustTaskCounters(
+            @Param("projectId") Long projectId,
+            @Param("totalDelta") int totalDelta,
+            @Param("completedDelta") int completedDelta);
+
+    @Modifying
+    @Query(value = "UPDATE projects SET completed_tasks = completed_tasks + :completedDelta, updated_at = LOCALTIMESTAMP " +
+                   "WHERE id = (SELECT project_id FROM tasks WHERE id = :taskId)",
+           nativeQuery = true)
+    int adjustCompletedTasksForTask(@Param("taskId") Long taskId, @Param("completedDelta") int completedDelta);
+
+    @Modifying
+    @Query(value = "UPDATE projects p SET " +
+                   "total_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id), " +
+                   "completed_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.completed = TRUE), " +
+                   "updated_at = LOCALTIMESTAMP " +
+                   "WHERE p.id = :projectId",
+           nativeQuery = true)
+    int recomputeTaskCounters(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT p.id FROM projects p " +
+                   "WHERE p.total_tasks <> (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id) " +
+                   "OR p.completed_tasks <> (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.completed = TRUE)",
+           nativeQuery = true)
+    List<Long> findIdsWithDriftedTaskCounters();
+
+    /*
+     * Counter adjustments hold the project row lock until commit. Taking it before recounting makes the
+     * recount (a later statement, so a fresh snapshot under READ COMMITTED) see every adjustment that
+     * committed ahead of it, while later ones queue behind the repair instead of being overwritten.
+     */
+
+    @Query(value = "SELECT id FROM projects WHERE id = :projectId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("projectId") Long projectId);
 }
@@ -0,0 +1,38 @@
+package com.project.tasksapplication.repository;
+
+import com.project.tasksapplication.model.ProjectTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProjectTombstoneRepository extends JpaRepository<ProjectTombstone, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO project_tombstones (project_id, user_id, deleted_at) VALUES (:projectId, :userId, LOCALTIMESTAMP)",
+           nativeQuery = true)
+    int recordDeletion(
+            @Param("projectId") Long projectId,
+            @Param("userId") Long userId);
+
+    @Query("SELECT p FROM ProjectTombstone p WHERE p.userId = :userId AND " +
+           "(p.deletedAt, p.projectId) > (:deletedAt, :projectId) AND " +
+           "p.deletedAt < :upTo " +
+           "ORDER BY p.deletedAt ASC, p.projectId ASC")
+    List<ProjectTombstone> findDeletedAfter(
+            @Param("userId") Long userId,
+            @Param("deletedAt") LocalDateTime deletedAt,
+            @Param("projectId") Long projectId,
+            @Param("upTo") LocalDateTime upTo,
+            Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM ProjectTombstone p WHERE p.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,158 @@
+package com.project.tasksapplication.repository;
+
+import com.project.tasksapplication.model.Project;
+import com.project.tasksapplication.model.Task;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Set-based task writes that bypass the persistence context. Tasks use IDENTITY ids, which
+ * prevents Hibernate from batching inserts, so bulk paths go straight through JDBC batches.
+ * Timestamps come from the database clock, like every change feed column (see {@link CommitHorizon}).
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tasks (title, description, completed, due_date, project_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${app.tasks.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    @Value("${app.tasks.export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    /**
+     * Inserts the tasks into the project in JDBC batches and returns the generated ids in input order.
+     */
+    public List<Long> batchInsert(Long projectId, List<Task> tasks) {
+        List<Long> ids = new ArrayList<>(tasks.size());
+
+        for (int from = 0; from < tasks.size(); from += jdbcBatchSize) {
+            List<Task> chunk = tasks.subList(from, Math.min(from + jdbcBatchSize, tasks.size()));
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+                    for (Task task : chunk) {
+                        ps.setString(1, task.getTitle());
+                        ps.setString(2, task.getDescription());
+                        ps.setBoolean(3, task.isCompleted());
+                        if (task.getDueDate() != null) {
+                            ps.setTimestamp(4, Timestamp.valueOf(task.getDueDate()));
+                        } else {
+                            ps.setNull(4, Types.TIMESTAMP);
+                        }
+                        ps.setLong(5, projectId);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        return ids;
+    }
+
+    /**
+     * Sets the status of the given tasks of the project, skipping rows already in that state.
+     * Returns the number of tasks whose status actually changed.
+     */
+    public int updateCompleted(Long projectId, Collection<Long> taskIds, boolean completed) {
+        return namedParameterJdbcTemplate.update(
+                "UPDATE tasks SET completed = :completed, updated_at = LOCALTIMESTAMP, version = version + 1 " +
+                "WHERE project_id = :projectId AND id IN (:ids) AND completed <> :completed",
+                new MapSqlParameterSource()
+                        .addValue("completed", completed)
+                        .addValue("projectId", projectId)
+                        .addValue("ids", taskIds));
+    }
+
+    /**
+     * Streams the project's tasks, newest first, through a forward-only cursor. Only one fetch of rows
+     * is held in memory at a time; PostgreSQL honours the fetch size only inside a transaction.
+     */
+    public void streamByProjectId(Long projectId, String search, Boolean completed, Consumer<Task> consumer) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, title, description, completed, due_date, created_at, updated_at FROM tasks WHERE project_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(projectId);
+        if (completed != null) {
+            sql.append(" AND completed = ?");
+            args.add(completed);
+        }
+        if (search != null) {
+            sql.append(" AND (title ILIKE ? OR description ILIKE ?)");
+            String pattern = "%" + search + "%";
+            args.add(pattern);
+            args.add(pattern);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC");
+
+        Project project = Project.builder().id(projectId).build();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(exportFetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(Task.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .completed(rs.getBoolean("completed"))
+                .dueDate(rs.getObject("due_date", LocalDateTime.class))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .project(project)
+                .build()));
+    }
+
+    public record Deletion(int deleted, int completed) {
+    }
+
+    /**
+     * Deletes the given tasks of the project and records their tombstones in one statement. Both counts
+     * come from the rows this statement actually removed, so a concurrent toggle or delete of the same
+     * tasks cannot skew the counter adjustment.
+     */
+    public Deletion deleteWithTombstones(Long projectId, Collection<Long> taskIds) {
+        return namedParameterJdbcTemplate.queryForObject(
+                "WITH deleted AS (" +
+                "  DELETE FROM tasks WHERE project_id = :projectId AND id IN (:ids) RETURNING id, completed" +
+                "), tombstones AS (" +
+                "  INSERT INTO task_tombstones (task_id, project_id, deleted_at) " +
+                "  SELECT id, :projectId, LOCALTIMESTAMP FROM deleted" +
+                ") SELECT COUNT(*) AS deleted, COUNT(*) FILTER (WHERE completed) AS completed FROM deleted",
+                new MapSqlParameterSource()
+                        .addValue("projectId", projectId)
+                        .addValue("ids", taskIds),
+                (rs, rowNum) -> new Deletion(rs.getInt("deleted"), rs.getInt("completed")));
+    }
+}
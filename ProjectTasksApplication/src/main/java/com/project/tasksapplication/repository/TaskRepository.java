@@ -1,40 +1,119 @@
 package com.project.tasksapplication.repository;
 
 import com.project.tasksapplication.model.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task,Long> {
+public interface TaskRepository extends JpaRepository<Task,Long>, TaskRepositoryCustom {
 
     List<Task> findByProjectId(Long projectId);
+
+    @Query("SELECT t FROM Task t JOIN t.project p WHERE t.id = :taskId AND p.user.id = :userId")
+    Optional<Task> findByIdAndOwnerId(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    @Query("SELECT t.version FROM Task t WHERE t.id = :taskId AND t.project.user.id = :userId")
+    Optional<Long> findVersionByIdAndOwnerId(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE tasks SET completed = :completed, updated_at = LOCALTIMESTAMP, version = version + 1 " +
+                   "WHERE id = :taskId AND completed <> :completed " +
+                   "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion) " +
+                   "AND project_id IN (SELECT id FROM projects WHERE user_id = :userId)",
+           nativeQuery = true)
+    int updateCompletedIfOwned(
+            @Param("taskId") Long taskId,
+            @Param("userId") Long userId,
+            @Param("completed") boolean completed,
+            @Param("expectedVersion") Long expectedVersion);
     
     Page<Task> findByProjectId(Long projectId, Pageable pageable);
     
     @Query(value = "SELECT * FROM tasks t WHERE t.project_id = :projectId AND " +
-           "(:search IS NULL OR LOWER(CAST(t.title AS TEXT)) LIKE '%' || LOWER(CAST(:search AS TEXT)) || '%' OR " +
-           "(t.description IS NOT NULL AND LOWER(CAST(t.description AS TEXT)) LIKE '%' || LOWER(CAST(:search AS TEXT)) || '%')) AND " +
            "(:completed IS NULL OR t.completed = :completed) " +
-           "ORDER BY t.created_at DESC",
+           "ORDER BY t.created_at DESC, t.id DESC",
            nativeQuery = true,
            countQuery = "SELECT COUNT(*) FROM tasks t WHERE t.project_id = :projectId AND " +
-                   "(:search IS NULL OR LOWER(CAST(t.title AS TEXT)) LIKE '%' || LOWER(CAST(:search AS TEXT)) || '%' OR " +
-                   "(t.description IS NOT NULL AND LOWER(CAST(t.description AS TEXT)) LIKE '%' || LOWER(CAST(:search AS TEXT)) || '%')) AND " +
                    "(:completed IS NULL OR t.completed = :completed)")
     Page<Task> findByProjectIdWithFilters(
+            @Param("projectId") Long projectId,
+            @Param("completed") Boolean completed,
+            Pageable pageable);
+
+    /*
+     * Substring search is its own statement rather than an optional predicate of the query above: an
+     * "(:search IS NULL OR ...)" guard keeps a cached generic plan from using the trigram indexes.
+     */
+
+    @Query(value = "SELECT * FROM tasks t WHERE t.project_id = :projectId AND " +
+           "(t.title ILIKE '%' || CAST(:search AS TEXT) || '%' OR t.description ILIKE '%' || CAST(:search AS TEXT) || '%') AND " +
+           "(:completed IS NULL OR t.completed = :completed) " +
+           "ORDER BY word_similarity(CAST(:search AS TEXT), t.title) DESC, t.created_at DESC, t.id DESC",
+           nativeQuery = true,
+           countQuery = "SELECT COUNT(*) FROM tasks t WHERE t.project_id = :projectId AND " +
+                   "(t.title ILIKE '%' || CAST(:search AS TEXT) || '%' OR t.description ILIKE '%' || CAST(:search AS TEXT) || '%') AND " +
+                   "(:completed IS NULL OR t.completed = :completed)")
+    Page<Task> findByProjectIdSubstring(
+            @Param("projectId") Long projectId,
+            @Param("search") String search,
+            @Param("completed") Boolean completed,
+            Pageable pageable);
+
+    @Query(value = "SELECT * FROM tasks t WHERE t.project_id = :projectId AND " +
+           "t.search_vector @@ websearch_to_tsquery('simple', :search) AND " +
+           "(:completed IS NULL OR t.completed = :completed) " +
+           "ORDER BY ts_rank(t.search_vector, websearch_to_tsquery('simple', :search)) DESC, t.created_at DESC, t.id DESC",
+           nativeQuery = true,
+           countQuery = "SELECT COUNT(*) FROM tasks t WHERE t.project_id = :projectId AND " +
+                   "t.search_vector @@ websearch_to_tsquery('simple', :search) AND " +
+                   "(:completed IS NULL OR t.completed = :completed)")
+    Page<Task> findByProjectIdFullText(
             @Param("projectId") Long projectId,
             @Param("search") String search,
             @Param("completed") Boolean completed,
             Pageable pageable);
 
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND " +
+           "(:completed IS NULL OR t.completed = :completed) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findFirstKeysetPage(
+            @Param("projectId") Long projectId,
+            @Param("completed") Boolean completed,
+            Limit limit);
+
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND " +
+           "(:completed IS NULL OR t.completed = :completed) AND " +
+           "(t.createdAt, t.id) < (:createdAt, :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findKeysetPageAfter(
+            @Param("projectId") Long projectId,
+            @Param("completed") Boolean completed,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND " +
+           "(t.updatedAt, t.id) > (:updatedAt, :id) AND " +
+           "t.updatedAt < :upTo " +
+           "ORDER BY t.updatedAt ASC, t.id ASC")
+    List<Task> findChangedAfter(
+            @Param("projectId") Long projectId,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("id") Long id,
+            @Param("upTo") LocalDateTime upTo,
+            Limit limit);
+
     Optional<Task> findByIdAndProjectId(Long id, Long projectId);
 
     long countByProjectId(Long projectId);
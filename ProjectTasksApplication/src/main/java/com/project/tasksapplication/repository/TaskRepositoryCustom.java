@@ -0,0 +1,13 @@
+package com.project.tasksapplication.repository;
+
+import java.util.Map;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Sets the given task attributes in a single UPDATE, scoped to tasks whose project belongs to the user
+     * and, when expectedVersion is not null, still at that version. Returns the number of rows updated,
+     * which is 0 when the task does not exist, is not owned by the user or has moved past expectedVersion.
+     */
+    int updateFieldsIfOwned(Long taskId, Long userId, Long expectedVersion, Map<String, Object> fields);
+}
@@ -0,0 +1,41 @@
+package com.project.tasksapplication.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.Map;
+import java.util.Set;
+
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("title", "description", "dueDate");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateFieldsIfOwned(Long taskId, Long userId, Long expectedVersion, Map<String, Object> fields) {
+        StringBuilder jpql = new StringBuilder("UPDATE Task t SET ");
+        for (String field : fields.keySet()) {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Field cannot be updated: " + field);
+            }
+            jpql.append("t.").append(field).append(" = :").append(field).append(", ");
+        }
+        jpql.append("t.updatedAt = local datetime, t.version = t.version + 1 WHERE t.id = :taskId ");
+        if (expectedVersion != null) {
+            jpql.append("AND t.version = :expectedVersion ");
+        }
+        jpql.append("AND t.project.id IN (SELECT p.id FROM Project p WHERE p.user.id = :userId)");
+
+        Query query = entityManager.createQuery(jpql.toString());
+        fields.forEach(query::setParameter);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        return query.setParameter("taskId", taskId)
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+}
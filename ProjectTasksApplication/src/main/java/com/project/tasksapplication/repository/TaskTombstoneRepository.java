@@ -0,0 +1,42 @@
+package com.project.tasksapplication.repository;
+
+import com.project.tasksapplication.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO task_tombstones (task_id, project_id, deleted_at) VALUES (:taskId, :projectId, LOCALTIMESTAMP)",
+           nativeQuery = true)
+    int recordDeletion(
+            @Param("taskId") Long taskId,
+            @Param("projectId") Long projectId);
+
+    @Query("SELECT t FROM TaskTombstone t WHERE t.projectId = :projectId AND " +
+           "(t.deletedAt, t.taskId) > (:deletedAt, :taskId) AND " +
+           "t.deletedAt < :upTo " +
+           "ORDER BY t.deletedAt ASC, t.taskId ASC")
+    List<TaskTombstone> findDeletedAfter(
+            @Param("projectId") Long projectId,
+            @Param("deletedAt") LocalDateTime deletedAt,
+            @Param("taskId") Long taskId,
+            @Param("upTo") LocalDateTime upTo,
+            Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.projectId = :projectId")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,15 @@
+package com.project.tasksapplication.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate that changes whenever a row in the fingerprinted set is inserted, updated or deleted.
+ */
+public interface ChangeFingerprint {
+
+    long getRowCount();
+
+    long getVersionSum();
+
+    LocalDateTime getLastUpdated();
+}
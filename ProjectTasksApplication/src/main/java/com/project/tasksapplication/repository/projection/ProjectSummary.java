@@ -0,0 +1,22 @@
+package com.project.tasksapplication.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface ProjectSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    LocalDateTime getCreatedAt();
+
+    int getTotalTasks();
+
+    int getCompletedTasks();
+
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+}
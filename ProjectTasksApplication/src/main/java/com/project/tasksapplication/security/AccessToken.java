@@ -0,0 +1,11 @@
+package com.project.tasksapplication.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The verified access token behind the current request, kept as the authentication's credentials so
+ * that long-lived responses can end with the session or the token.
+ */
+public record AccessToken(UUID sessionId, Instant expiresAt) {
+}
@@ -1,5 +1,7 @@
 package com.project.tasksapplication.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,9 +9,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -23,7 +22,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenDenyList tokenDenyList;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -32,20 +33,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
 
         String path = request.getRequestURI();
-        if (path.startsWith("/api/auth/") || path.equals("/health")) {
+        if (path.startsWith("/api/auth/") || path.equals("/health") || path.startsWith("/health/")) {
             filterChain.doFilter(request, response);
             return;
         }
 
         String token = getTokenFromRequest(request);
 
-        if(StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        Claims claims = StringUtils.hasText(token) ? jwtTokenProvider.resolveClaims(token) : null;
 
+        if (claims != null && tokenDenyList.isRevoked(JwtTokenProvider.getSessionId(claims))) {
+            claims = null;
+        }
+
+        if(claims != null) {
+            String email = claims.getSubject();
+            UserPrincipal userDetails = meterRegistry.timer("app.security.principal.lookup")
+                    .record(() -> principalCache.get(email));
+
+            AccessToken accessToken = new AccessToken(JwtTokenProvider.getSessionId(claims), claims.getExpiration().toInstant());
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                     userDetails,
-                    null,
+                    accessToken,
                     userDetails.getAuthorities()
             );
 
@@ -1,42 +1,85 @@
 package com.project.tasksapplication.security;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 public class JwtTokenProvider {
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
 
-    @Value("${app.jwt.expiration-milliseconds}")
-    private long jwtExpirationDate;
+    private static final String SESSION_CLAIM = "sid";
+
+    private final long jwtExpirationDate;
+    private final Key key;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
+    private final Timer validVerifications;
+    private final Timer invalidVerifications;
+
+    public JwtTokenProvider(
+            @Value("${app.jwt.secret}") String jwtSecret,
+            @Value("${app.jwt.expiration-milliseconds}") long jwtExpirationDate,
+            @Value("${app.jwt.verified-cache.max-size:10000}") long verifiedCacheSize,
+            MeterRegistry meterRegistry) {
+        this.jwtExpirationDate = jwtExpirationDate;
+        this.key = key(jwtSecret);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verified-tokens");
+        this.validVerifications = meterRegistry.timer("app.jwt.verify", "result", "valid");
+        this.invalidVerifications = meterRegistry.timer("app.jwt.verify", "result", "invalid");
+    }
 
 
     public String generateToken(Authentication authentication) {
-        String username = authentication.getName();
+        return generateToken(authentication.getName(), null);
+    }
+
+    /**
+     * Issues an access token for {@code username} bound to the login session {@code sessionId}, so that
+     * revoking the session also rejects its outstanding access tokens.
+     */
+    public String generateToken(String username, UUID sessionId) {
         Date currentDate = new Date();
         Date expireDate = new Date(currentDate.getTime() + jwtExpirationDate);
 
         return Jwts.builder()
                 .setSubject(username)
-                .setIssuedAt(new Date())
+                .claim(SESSION_CLAIM, sessionId != null ? sessionId.toString() : null)
+                .setIssuedAt(currentDate)
                 .setExpiration(expireDate)
-                .signWith(key() , SignatureAlgorithm.HS256)
+                .signWith(key , SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
+    private static Key key(String jwtSecret) {
         try {
             byte[] keyBytes = io.jsonwebtoken.io.Decoders.BASE64.decode(jwtSecret);
             return Keys.hmacShaKeyFor(keyBytes);
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | JwtException e) {
             byte[] keyBytes = jwtSecret.getBytes(java.nio.charset.StandardCharsets.UTF_8);
             if (keyBytes.length < 32) {
                 byte[] paddedKey = new byte[32];
@@ -51,33 +94,83 @@ public class JwtTokenProvider {
     }
 
 
-    public String getUsername(String token){
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token and returns its claims, or {@code null} if it is invalid or expired.
+     * Tokens verified before are served from a cache that drops each entry when the token expires.
+     */
+    public Claims resolveClaims(String token) {
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
 
-        return claims.getSubject();
+        long start = System.nanoTime();
+        Claims claims = verify(token);
+        (claims != null ? validVerifications : invalidVerifications).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (claims != null) {
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
     }
 
-
-    public boolean validateToken(String token) {
+    private Claims verify(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (MalformedJwtException ex) {
-            System.err.println("Invalid JWT token");
+            log.debug("Invalid JWT token");
+        } catch (SecurityException ex) {
+            log.debug("Invalid JWT signature");
         } catch (ExpiredJwtException ex) {
-            System.err.println("Expired JWT token");
+            log.debug("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            System.err.println("Unsupported JWT token");
+            log.debug("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty.");
+            log.debug("JWT claims string is empty");
+        }
+        return null;
+    }
+
+
+    public long getExpirationMillis() {
+        return jwtExpirationDate;
+    }
+
+    public static UUID getSessionId(Claims claims) {
+        String sessionId = claims.get(SESSION_CLAIM, String.class);
+        return sessionId != null ? UUID.fromString(sessionId) : null;
+    }
+
+
+    public String getUsername(String token){
+        Claims claims = resolveClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+
+    public boolean validateToken(String token) {
+        return resolveClaims(token) != null;
+    }
+
+    private static class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
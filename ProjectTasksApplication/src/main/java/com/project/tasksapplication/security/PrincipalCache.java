@@ -0,0 +1,51 @@
+package com.project.tasksapplication.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.tasksapplication.config.CacheMetrics;
+import com.project.tasksapplication.model.User;
+import com.project.tasksapplication.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class PrincipalCache {
+
+    // email key, principal and its copy of the email
+    private static final long BYTES_PER_ENTRY = 256;
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserPrincipal> cache;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CacheMetrics.monitor(meterRegistry, cache, "principals", BYTES_PER_ENTRY);
+    }
+
+    public UserPrincipal get(String email) {
+        return cache.get(email, this::load);
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    private UserPrincipal load(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        return new UserPrincipal(user.getId(), user.getEmail(), null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.tasksapplication.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+public final class SecurityUtils {
+
+    private SecurityUtils() {
+    }
+
+    public static Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        throw new UsernameNotFoundException("User not found");
+    }
+
+    public static Optional<AccessToken> getCurrentAccessToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof AccessToken accessToken) {
+            return Optional.of(accessToken);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.tasksapplication.security;
+
+import java.util.UUID;
+
+/**
+ * Published when a session is added to the {@link TokenDenyList}, whether it was revoked on this
+ * instance or relayed from another one.
+ */
+public record SessionRevokedEvent(UUID sessionId) {
+}
@@ -0,0 +1,53 @@
+package com.project.tasksapplication.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.tasksapplication.config.CacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Revoked sessions. Access tokens are not stored anywhere, so a revoked session's access tokens stay
+ * valid until they expire unless they are rejected here; entries therefore only need to outlive the
+ * access-token lifetime. Refresh tokens are revoked durably in the database. Revocations reach other
+ * instances through the PostgreSQL notification channel; without it ({@code app.events.pg-notify.enabled})
+ * they only apply to the instance that handled them, which is only safe for a single instance. Every
+ * revocation is announced as a {@link SessionRevokedEvent} so that open event streams of the session end too.
+ */
+@Component
+public class TokenDenyList {
+
+    // UUID key plus entry overhead
+    private static final long BYTES_PER_ENTRY = 96;
+
+    private final Cache<UUID, Boolean> revokedSessions;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TokenDenyList(
+            MeterRegistry meterRegistry,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.jwt.expiration-milliseconds}") long accessTokenTtlMillis,
+            @Value("${app.jwt.deny-list.max-size:100000}") long maxSize) {
+        this.eventPublisher = eventPublisher;
+        this.revokedSessions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(accessTokenTtlMillis))
+                .recordStats()
+                .build();
+        CacheMetrics.monitor(meterRegistry, revokedSessions, "token-deny-list", BYTES_PER_ENTRY);
+    }
+
+    public void revoke(UUID sessionId) {
+        revokedSessions.put(sessionId, Boolean.TRUE);
+        eventPublisher.publishEvent(new SessionRevokedEvent(sessionId));
+    }
+
+    public boolean isRevoked(UUID sessionId) {
+        return sessionId != null && revokedSessions.getIfPresent(sessionId) != null;
+    }
+}
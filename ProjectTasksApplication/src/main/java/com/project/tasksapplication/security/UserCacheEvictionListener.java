@@ -0,0 +1,21 @@
+package com.project.tasksapplication.security;
+
+import com.project.tasksapplication.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        principalCache.ifAvailable(cache -> cache.evict(user.getEmail()));
+    }
+}
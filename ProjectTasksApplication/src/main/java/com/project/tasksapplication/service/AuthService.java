@@ -2,6 +2,7 @@ package com.project.tasksapplication.service;
 
 
 import com.project.tasksapplication.dto.request.LoginRequest;
+import com.project.tasksapplication.dto.request.RefreshTokenRequest;
 import com.project.tasksapplication.dto.request.RegisterRequest;
 import com.project.tasksapplication.dto.response.AuthResponse;
 import com.project.tasksapplication.mapper.UserMapper;
@@ -16,6 +17,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -25,16 +28,13 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserMapper userMapper;
+    private final RefreshTokenService refreshTokenService;
 
+    /**
+     * Inserts the user in a single statement; duplicate emails and usernames are rejected by the unique
+     * constraints on {@code users} and reported as conflicts by {@code GlobalExceptionHandler}.
+     */
     public void register(RegisterRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email is already in use");
-        }
-
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username is already in use");
-        }
-
         User user = userMapper.toEntity(request);
 
         user.setPassword(passwordEncoder.encode(request.getPassword()));
@@ -52,13 +52,24 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        String token = jwtTokenProvider.generateToken(authentication);
-
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return new AuthResponse(token, user.getUsername());
+        UUID sessionId = UUID.randomUUID();
+        return authResponse(user, sessionId, refreshTokenService.issue(user, sessionId));
     }
 
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        return authResponse(rotation.user(), rotation.sessionId(), rotation.refreshToken());
+    }
+
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
 
+    private AuthResponse authResponse(User user, UUID sessionId, String refreshToken) {
+        String token = jwtTokenProvider.generateToken(user.getEmail(), sessionId);
+        return new AuthResponse(token, jwtTokenProvider.getExpirationMillis() / 1000, refreshToken, user.getUsername());
+    }
 }
@@ -0,0 +1,161 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.dto.response.ChangesResponse;
+import com.project.tasksapplication.dto.response.ProjectResponse;
+import com.project.tasksapplication.dto.response.TaskResponse;
+import com.project.tasksapplication.mapper.CursorCodec;
+import com.project.tasksapplication.mapper.ProjectMapper;
+import com.project.tasksapplication.mapper.TaskMapper;
+import com.project.tasksapplication.model.ProjectTombstone;
+import com.project.tasksapplication.model.Task;
+import com.project.tasksapplication.model.TaskTombstone;
+import com.project.tasksapplication.repository.CommitHorizon;
+import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.ProjectTombstoneRepository;
+import com.project.tasksapplication.repository.TaskRepository;
+import com.project.tasksapplication.repository.TaskTombstoneRepository;
+import com.project.tasksapplication.repository.projection.ProjectSummary;
+import com.project.tasksapplication.security.SecurityUtils;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Serves rows changed after a watermark, together with tombstones for rows deleted after it.
+ * The watermark is an opaque (timestamp, id) position; rows and tombstones are merged in that order
+ * so that a page cut by the limit resumes exactly where it stopped.
+ * <p>
+ * Timestamps are assigned before commit, so a transaction still in flight can commit a row with a
+ * timestamp behind a watermark that was already handed out. Only rows older than the
+ * {@link CommitHorizon}, the start of the oldest open transaction on the database clock, are returned,
+ * which keeps the next watermark from overtaking those commits however long they take.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    public static final int MAX_LIMIT = 1000;
+    private static final CursorCodec.Cursor ORIGIN = new CursorCodec.Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+    private static final Comparator<CursorCodec.Cursor> POSITION_ORDER =
+            Comparator.comparing(CursorCodec.Cursor::createdAt).thenComparing(CursorCodec.Cursor::id);
+
+    private final ProjectRepository projectRepository;
+    private final OwnershipCache ownershipCache;
+    private final TaskRepository taskRepository;
+    private final ProjectTombstoneRepository projectTombstoneRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final ProjectMapper projectMapper;
+    private final TaskMapper taskMapper;
+    private final CursorCodec cursorCodec;
+    private final CommitHorizon commitHorizon;
+
+    @Value("${app.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    @Transactional(readOnly = true)
+    public ChangesResponse<ProjectResponse> getProjectChanges(String since, int limit) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        Window window = window(since, limit);
+        if (window.expired()) {
+            return resetRequired();
+        }
+
+        CursorCodec.Cursor from = window.from();
+        List<ProjectSummary> changed = projectRepository.findChangedSummariesAfter(
+                userId, from.createdAt(), from.id(), window.upTo(), Limit.of(limit + 1));
+        List<ProjectTombstone> deleted = from == ORIGIN ? List.of() : projectTombstoneRepository.findDeletedAfter(
+                userId, from.createdAt(), from.id(), window.upTo(), Limit.of(limit + 1));
+
+        return merge(window, limit,
+                changed, summary -> new CursorCodec.Cursor(summary.getUpdatedAt(), summary.getId()), projectMapper::toDto,
+                deleted, tombstone -> new CursorCodec.Cursor(tombstone.getDeletedAt(), tombstone.getProjectId()));
+    }
+
+    @Transactional(readOnly = true)
+    public ChangesResponse<TaskResponse> getTaskChanges(Long projectId, String since, int limit) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (!ownershipCache.isProjectOwner(projectId, userId)) {
+            throw new EntityNotFoundException("Project not found or access denied");
+        }
+
+        Window window = window(since, limit);
+        if (window.expired()) {
+            return resetRequired();
+        }
+
+        CursorCodec.Cursor from = window.from();
+        List<Task> changed = taskRepository.findChangedAfter(
+                projectId, from.createdAt(), from.id(), window.upTo(), Limit.of(limit + 1));
+        List<TaskTombstone> deleted = from == ORIGIN ? List.of() : taskTombstoneRepository.findDeletedAfter(
+                projectId, from.createdAt(), from.id(), window.upTo(), Limit.of(limit + 1));
+
+        return merge(window, limit,
+                changed, task -> new CursorCodec.Cursor(task.getUpdatedAt(), task.getId()), taskMapper::toDto,
+                deleted, tombstone -> new CursorCodec.Cursor(tombstone.getDeletedAt(), tombstone.getTaskId()));
+    }
+
+    private Window window(String since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        CursorCodec.Cursor from = since == null || since.isBlank() ? ORIGIN : cursorCodec.decode(since);
+        boolean expired = from != ORIGIN && from.createdAt().isBefore(LocalDateTime.now().minus(tombstoneRetention));
+        return new Window(from, expired ? null : commitHorizon.current(), expired);
+    }
+
+    private <C, D, R> ChangesResponse<R> merge(Window window, int limit,
+                                               List<C> changed, Function<C, CursorCodec.Cursor> changedPosition,
+                                               Function<C, R> mapper,
+                                               List<D> deleted, Function<D, CursorCodec.Cursor> deletedPosition) {
+        List<R> changedOut = new ArrayList<>();
+        List<Long> deletedOut = new ArrayList<>();
+        CursorCodec.Cursor last = null;
+        int c = 0;
+        int d = 0;
+        while (c + d < limit && (c < changed.size() || d < deleted.size())) {
+            boolean takeChanged = d == deleted.size() || (c < changed.size()
+                    && POSITION_ORDER.compare(changedPosition.apply(changed.get(c)), deletedPosition.apply(deleted.get(d))) < 0);
+            if (takeChanged) {
+                last = changedPosition.apply(changed.get(c));
+                changedOut.add(mapper.apply(changed.get(c++)));
+            } else {
+                last = deletedPosition.apply(deleted.get(d++));
+                deletedOut.add(last.id());
+            }
+        }
+
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        CursorCodec.Cursor next = hasMore ? last : new CursorCodec.Cursor(window.upTo(), 0L);
+        if (POSITION_ORDER.compare(next, window.from()) < 0) {
+            next = window.from();
+        }
+
+        return ChangesResponse.<R>builder()
+                .changed(changedOut)
+                .deleted(deletedOut)
+                .nextWatermark(cursorCodec.encode(next.createdAt(), next.id()))
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private <R> ChangesResponse<R> resetRequired() {
+        return ChangesResponse.<R>builder()
+                .changed(List.of())
+                .deleted(List.of())
+                .resetRequired(true)
+                .build();
+    }
+
+    private record Window(CursorCodec.Cursor from, LocalDateTime upTo, boolean expired) {
+    }
+}
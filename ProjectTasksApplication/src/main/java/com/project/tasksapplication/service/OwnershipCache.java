@@ -0,0 +1,67 @@
+package com.project.tasksapplication.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.tasksapplication.config.CacheMetrics;
+import com.project.tasksapplication.event.ChangeEvent;
+import com.project.tasksapplication.event.ChangeEventListener;
+import com.project.tasksapplication.repository.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caches which user owns each project, so access checks that do not need the project row itself skip
+ * the database. A project never changes owner, so an entry only has to go when the project is deleted,
+ * which happens once the deleting transaction has committed. Without the PostgreSQL change channel the
+ * expiry bounds how long another instance can still see a project that was deleted elsewhere. Missing
+ * projects are not cached.
+ */
+@Component
+public class OwnershipCache implements ChangeEventListener {
+
+    // Long key and value, Caffeine node and ConcurrentHashMap entry
+    private static final long BYTES_PER_ENTRY = 120;
+
+    private final ProjectRepository projectRepository;
+    private final Cache<Long, Long> projectOwners;
+
+    public OwnershipCache(
+            ProjectRepository projectRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.project-owners.max-size:100000}") long maxSize,
+            @Value("${app.cache.project-owners.ttl:10m}") Duration ttl) {
+        this.projectRepository = projectRepository;
+        this.projectOwners = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CacheMetrics.monitor(meterRegistry, projectOwners, "project-owners", BYTES_PER_ENTRY);
+    }
+
+    /**
+     * Returns the id of the user owning the project, or null if the project does not exist.
+     */
+    public Long getProjectOwner(Long projectId) {
+        return projectOwners.get(projectId, id -> projectRepository.findOwnerIdById(id).orElse(null));
+    }
+
+    public boolean isProjectOwner(Long projectId, Long userId) {
+        return userId.equals(getProjectOwner(projectId));
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (event.entity() == ChangeEvent.Entity.PROJECT && event.type() == ChangeEvent.Type.DELETED) {
+            projectOwners.invalidate(event.id());
+        }
+    }
+
+    @Override
+    public void onResync() {
+        projectOwners.invalidateAll();
+    }
+}
@@ -0,0 +1,138 @@
+package com.project.tasksapplication.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.tasksapplication.config.CacheMetrics;
+import com.project.tasksapplication.dto.response.CursorPageResponse;
+import com.project.tasksapplication.dto.response.PageResponse;
+import com.project.tasksapplication.dto.response.ProjectResponse;
+import com.project.tasksapplication.event.ChangeEvent;
+import com.project.tasksapplication.event.ChangeEventListener;
+import com.project.tasksapplication.repository.projection.ChangeFingerprint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches each user's project listings, i.e. the mapped response bodies together with the fingerprint
+ * their entity tag is derived from. Entries are keyed by the user's current generation, and any committed
+ * project or task change of that user moves the generation on, so stale listings become unreachable
+ * without being looked up and age out under the shared memory budget. Generations are drawn from one
+ * global sequence, so a user whose generation was evicted never gets an old one back.
+ */
+@Component
+public class ProjectListCache implements ChangeEventListener {
+
+    private static final int ENTRY_BYTES = 160;
+    private static final int PROJECT_BYTES = 200;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<Long, Long> generations;
+    private final Cache<Key, Listing> listings;
+
+    public ProjectListCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.project-lists.max-memory:64MB}") DataSize maxMemory,
+            @Value("${app.cache.project-lists.max-users:100000}") long maxUsers,
+            @Value("${app.cache.project-lists.ttl:10m}") Duration ttl) {
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+        this.listings = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher(ProjectListCache::weigh)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CacheMetrics.monitorWeighted(meterRegistry, listings, "project-lists");
+    }
+
+    /**
+     * The loader runs outside the cache's locks, since it queries the database. Two concurrent misses
+     * may both load; whichever finishes last wins, and both results belong to the same generation.
+     */
+    public Listing get(Long userId, String view, Supplier<Listing> loader) {
+        Key key = new Key(userId, generations.get(userId, id -> sequence.incrementAndGet()), view);
+        Listing listing = listings.getIfPresent(key);
+        if (listing == null) {
+            listing = loader.get();
+            listings.put(key, listing);
+        }
+        return listing;
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        generations.put(event.userId(), sequence.incrementAndGet());
+    }
+
+    @Override
+    public void onResync() {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        generations.invalidateAll();
+        listings.invalidateAll();
+    }
+
+    private static int weigh(Key key, Listing listing) {
+        List<?> content = switch (listing.body()) {
+            case PageResponse<?> page -> page.getContent();
+            case CursorPageResponse<?> page -> page.getContent();
+            case List<?> list -> list;
+            default -> List.of();
+        };
+        long bytes = ENTRY_BYTES + 2L * key.view().length();
+        for (Object item : content) {
+            bytes += PROJECT_BYTES;
+            if (item instanceof ProjectResponse project) {
+                bytes += 2L * (length(project.getTitle()) + length(project.getDescription()));
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private record Key(Long userId, long generation, String view) {
+    }
+
+    /**
+     * A listing body with the fingerprint of the rows it was built from, copied out of the query result.
+     */
+    public record Listing(Fingerprint fingerprint, Object body) {
+
+        public static Listing of(ChangeFingerprint fingerprint, Object body) {
+            return new Listing(new Fingerprint(fingerprint.getRowCount(), fingerprint.getVersionSum(),
+                    fingerprint.getLastUpdated()), body);
+        }
+    }
+
+    public record Fingerprint(long rowCount, long versionSum, LocalDateTime lastUpdated) implements ChangeFingerprint {
+
+        @Override
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public long getVersionSum() {
+            return versionSum;
+        }
+
+        @Override
+        public LocalDateTime getLastUpdated() {
+            return lastUpdated;
+        }
+    }
+}
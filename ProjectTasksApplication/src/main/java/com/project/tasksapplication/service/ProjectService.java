@@ -2,24 +2,34 @@ package com.project.tasksapplication.service;
 
 
 import com.project.tasksapplication.dto.request.ProjectRequest;
+import com.project.tasksapplication.dto.response.CursorPageResponse;
 import com.project.tasksapplication.dto.response.PageResponse;
 import com.project.tasksapplication.dto.response.ProjectResponse;
+import com.project.tasksapplication.event.ChangeEvent;
+import com.project.tasksapplication.exception.PreconditionFailedException;
+import com.project.tasksapplication.mapper.CursorCodec;
 import com.project.tasksapplication.mapper.ProjectMapper;
 import com.project.tasksapplication.model.Project;
-import com.project.tasksapplication.model.User;
 import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.ProjectTombstoneRepository;
+import com.project.tasksapplication.repository.TaskTombstoneRepository;
 import com.project.tasksapplication.repository.UserRepository;
+import com.project.tasksapplication.security.SecurityUtils;
+import com.project.tasksapplication.repository.projection.ChangeFingerprint;
+import com.project.tasksapplication.repository.projection.ProjectSummary;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,29 +38,60 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final ProjectTombstoneRepository projectTombstoneRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
     private final ProjectMapper projectMapper;
-
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-    }
+    private final CursorCodec cursorCodec;
+    private final ProjectListCache projectListCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProjectResponse createProject(ProjectRequest request) {
-        User user = getCurrentUser();
+        Long userId = SecurityUtils.getCurrentUserId();
 
         Project project = projectMapper.toEntity(request);
-        project.setUser(user);
+        project.setUser(userRepository.getReferenceById(userId));
 
         Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(ChangeEvent.project(userId, ChangeEvent.Type.CREATED, savedProject.getId()));
         return projectMapper.toDto(savedProject);
     }
 
+    /**
+     * Returns the requested listing of the current user's projects with its fingerprint, from the cache
+     * when nothing changed since it was built. Not transactional, so a cache hit does not even borrow a
+     * connection; a miss loads fingerprint and body in one transaction.
+     */
+    public ProjectListCache.Listing getProjectListing(int page, int size, boolean paginated, boolean keyset,
+                                                      String cursor, boolean includeTotal) {
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        String view;
+        Supplier<Object> body;
+        if (keyset || cursor != null) {
+            view = "keyset:" + cursor + ":" + size + ":" + includeTotal;
+            body = () -> getAllUserProjectsKeyset(cursor, size, includeTotal);
+        } else if (paginated) {
+            view = "page:" + page + ":" + size;
+            body = () -> getAllUserProjectsPaginated(page, size);
+        } else {
+            view = "all";
+            body = this::getAllUserProjects;
+        }
+        return projectListCache.get(userId, view, () -> transactionTemplate.execute(status ->
+                ProjectListCache.Listing.of(getProjectsFingerprint(), body.get())));
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFingerprint getProjectsFingerprint() {
+        return projectRepository.findProjectsFingerprint(SecurityUtils.getCurrentUserId());
+    }
+
     @Transactional(readOnly = true)
     public List<ProjectResponse> getAllUserProjects() {
-        User user = getCurrentUser();
-        List<Project> projects = projectRepository.findByUserId(user.getId());
+        Long userId = SecurityUtils.getCurrentUserId();
+        List<ProjectSummary> projects = projectRepository.findSummariesByUserId(userId);
 
         return projects.stream()
                 .map(projectMapper::toDto)
@@ -59,9 +100,9 @@ public class ProjectService {
 
     @Transactional(readOnly = true)
     public PageResponse<ProjectResponse> getAllUserProjectsPaginated(int page, int size) {
-        User user = getCurrentUser();
+        Long userId = SecurityUtils.getCurrentUserId();
         Pageable pageable = PageRequest.of(page, size);
-        Page<Project> projectPage = projectRepository.findByUserId(user.getId(), pageable);
+        Page<ProjectSummary> projectPage = projectRepository.findSummariesByUserId(userId, pageable);
 
         List<ProjectResponse> content = projectPage.getContent().stream()
                 .map(projectMapper::toDto)
@@ -78,37 +119,78 @@ public class ProjectService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProjectResponse> getAllUserProjectsKeyset(String cursor, int size, boolean includeTotal) {
+        CursorCodec.requirePageSize(size);
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        Limit limit = Limit.of(size + 1);
+        List<ProjectSummary> projects;
+        if (cursor == null || cursor.isBlank()) {
+            projects = projectRepository.findFirstKeysetPage(userId, limit);
+        } else {
+            CursorCodec.Cursor position = cursorCodec.decode(cursor);
+            projects = projectRepository.findKeysetPageAfter(userId, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasNext = projects.size() > size;
+        if (hasNext) {
+            projects = projects.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            ProjectSummary last = projects.get(projects.size() - 1);
+            nextCursor = cursorCodec.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return CursorPageResponse.<ProjectResponse>builder()
+                .content(projects.stream().map(projectMapper::toDto).collect(Collectors.toList()))
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalElements(includeTotal ? projectRepository.countByUserId(userId) : null)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public ProjectResponse getProjectById(Long projectId) {
-        User user = getCurrentUser();
+        Long userId = SecurityUtils.getCurrentUserId();
 
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
+        Project project = projectRepository.findByIdAndUserId(projectId, userId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found or access denied"));
 
         return projectMapper.toDto(project);
     }
 
     @Transactional
-    public ProjectResponse updateProject(Long projectId, ProjectRequest request) {
-        User user = getCurrentUser();
+    public ProjectResponse updateProject(Long projectId, ProjectRequest request, Long expectedVersion) {
+        Long userId = SecurityUtils.getCurrentUserId();
 
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
+        Project project = projectRepository.findByIdAndUserId(projectId, userId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found or access denied"));
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new PreconditionFailedException("Precondition failed: project has been modified");
+        }
 
         project.setTitle(request.getTitle());
         project.setDescription(request.getDescription());
 
-        Project updatedProject = projectRepository.save(project);
+        Project updatedProject = projectRepository.saveAndFlush(project);
+        eventPublisher.publishEvent(ChangeEvent.project(userId, ChangeEvent.Type.UPDATED, projectId));
         return projectMapper.toDto(updatedProject);
     }
 
     @Transactional
     public void deleteProject(Long projectId) {
-        User user = getCurrentUser();
+        Long userId = SecurityUtils.getCurrentUserId();
 
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
+        Project project = projectRepository.findByIdAndUserId(projectId, userId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found or access denied"));
 
         projectRepository.delete(project);
+        projectTombstoneRepository.recordDeletion(projectId, userId);
+        taskTombstoneRepository.deleteAllByProjectId(projectId);
+        eventPublisher.publishEvent(ChangeEvent.project(userId, ChangeEvent.Type.DELETED, projectId));
     }
 }
\ No newline at end of file
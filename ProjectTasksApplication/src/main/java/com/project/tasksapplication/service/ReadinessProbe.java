@@ -0,0 +1,269 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.config.ConcurrencyLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides whether this instance should receive traffic. The database round trip and the Flyway
+ * lookup run at most once per {@code app.health.probe-interval} on a single thread; concurrent
+ * callers get the last result instead of queueing for a connection. Pool occupancy is read live, and
+ * the instance reports not ready while threads wait for connections or acquiring one takes too long,
+ * so the load balancer sheds load before requests start timing out. The whole database round trip,
+ * including the wait for a connection, is bounded by {@code app.health.probe-timeout}; a probe that
+ * times out reports the database down and is retried on the next check. Driver error messages are only
+ * logged, the public report carries a fixed description.
+ */
+@Slf4j
+@Service
+public class ReadinessProbe {
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<Flyway> flyway;
+    private final long probeIntervalNanos;
+    private final Duration probeTimeout;
+    private final int probeTimeoutSeconds;
+    private final int maxPendingThreads;
+    private final Duration maxPoolWait;
+    private final ReentrantLock probeLock = new ReentrantLock();
+    private final ExecutorService probeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile Snapshot snapshot;
+    private long lastAcquireCount;
+    private double lastAcquireMillis;
+
+    public ReadinessProbe(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            ObjectProvider<Flyway> flyway,
+            @Value("${app.health.probe-interval:5s}") Duration probeInterval,
+            @Value("${app.health.probe-timeout:2s}") Duration probeTimeout,
+            @Value("${app.health.max-pending-threads:10}") int maxPendingThreads,
+            @Value("${app.health.max-pool-wait:500ms}") Duration maxPoolWait) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.flyway = flyway;
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.probeTimeout = probeTimeout;
+        this.probeTimeoutSeconds = (int) Math.max(1, probeTimeout.toSeconds());
+        this.maxPendingThreads = maxPendingThreads;
+        this.maxPoolWait = maxPoolWait;
+    }
+
+    public record Report(boolean ready, List<String> reasons, Map<String, Object> details) {
+    }
+
+    private record DatabaseCheck(boolean valid, long acquiredAt) {
+    }
+
+    private record Snapshot(long checkedAt, boolean databaseUp, String databaseError, double probeMillis,
+                            double poolWaitMillis, Map<String, Object> migrations, boolean migrationsComplete) {
+    }
+
+    public Report check() {
+        Snapshot current = refreshIfStale();
+        List<String> reasons = new ArrayList<>();
+        Map<String, Object> details = new LinkedHashMap<>();
+
+        Map<String, Object> database = new LinkedHashMap<>();
+        database.put("status", current.databaseUp() ? "UP" : "DOWN");
+        database.put("probeMillis", current.probeMillis());
+        if (current.databaseError() != null) {
+            database.put("error", current.databaseError());
+        }
+        details.put("database", database);
+        if (!current.databaseUp()) {
+            reasons.add("database unreachable");
+        }
+
+        Map<String, Object> pool = poolDetails();
+        pool.put("waitMillis", current.poolWaitMillis());
+        details.put("pool", pool);
+        int pending = (int) pool.getOrDefault("pending", 0);
+        if (pending > maxPendingThreads) {
+            reasons.add("pending connection requests " + pending + " > " + maxPendingThreads);
+        }
+        if (current.poolWaitMillis() > maxPoolWait.toMillis()) {
+            reasons.add(String.format("connection wait %.0fms > %dms", current.poolWaitMillis(), maxPoolWait.toMillis()));
+        }
+
+        details.put("migrations", current.migrations());
+        if (!current.migrationsComplete()) {
+            reasons.add("database migrations incomplete");
+        }
+
+        return new Report(reasons.isEmpty(), reasons, details);
+    }
+
+    private Snapshot refreshIfStale() {
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.checkedAt() < probeIntervalNanos) {
+            return current;
+        }
+        if (!probeLock.tryLock()) {
+            return current != null ? current : awaitFirstProbe();
+        }
+        try {
+            current = snapshot;
+            if (current == null || System.nanoTime() - current.checkedAt() >= probeIntervalNanos) {
+                current = probe();
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            probeLock.unlock();
+        }
+    }
+
+    private Snapshot awaitFirstProbe() {
+        probeLock.lock();
+        try {
+            return snapshot != null ? snapshot : (snapshot = probe());
+        } finally {
+            probeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    private Snapshot probe() {
+        boolean databaseUp = false;
+        boolean timedOut = false;
+        String databaseError = null;
+        long start = System.nanoTime();
+        long acquired = start;
+        Future<DatabaseCheck> check = probeExecutor.submit(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                long acquiredAt = System.nanoTime();
+                return new DatabaseCheck(connection.isValid(probeTimeoutSeconds), acquiredAt);
+            }
+        });
+        try {
+            DatabaseCheck result = check.get(probeTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            acquired = result.acquiredAt();
+            databaseUp = result.valid();
+            if (!databaseUp) {
+                databaseError = "connection validation failed";
+            }
+        } catch (TimeoutException ex) {
+            check.cancel(true);
+            timedOut = true;
+            databaseError = "no response within " + probeTimeout.toMillis() + "ms";
+            log.warn("Readiness database probe timed out after {}ms", probeTimeout.toMillis());
+        } catch (ExecutionException ex) {
+            databaseError = "connection failed";
+            log.warn("Readiness database probe failed: {}", ex.getCause().getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            check.cancel(true);
+            databaseError = "probe interrupted";
+        }
+        long finished = System.nanoTime();
+        double probeMillis = (finished - start) / 1_000_000.0;
+        // The probe queues behind the concurrency limiter like any request, so its own wait counts too
+        double acquireMillis = ((acquired > start ? acquired : finished) - start) / 1_000_000.0;
+
+        Map<String, Object> migrations = new LinkedHashMap<>();
+        boolean migrationsComplete = true;
+        Flyway migrator = flyway.getIfAvailable();
+        if (migrator == null) {
+            migrations.put("status", "DISABLED");
+        } else if (databaseUp) {
+            try {
+                MigrationInfoService info = migrator.info();
+                MigrationInfo currentMigration = info.current();
+                int pending = info.pending().length;
+                boolean failed = currentMigration != null && currentMigration.getState().isFailed();
+                migrationsComplete = pending == 0 && !failed;
+                migrations.put("status", failed ? "FAILED" : pending > 0 ? "PENDING" : "UP_TO_DATE");
+                migrations.put("version", currentMigration != null ? currentMigration.getVersion().toString() : null);
+                migrations.put("pending", pending);
+            } catch (RuntimeException ex) {
+                migrationsComplete = false;
+                migrations.put("status", "UNKNOWN");
+                log.warn("Readiness migration check failed: {}", ex.getMessage());
+            }
+        } else {
+            migrationsComplete = false;
+            migrations.put("status", "UNKNOWN");
+        }
+
+        // A timed out probe is stale right away, so the next check probes again instead of waiting an interval
+        long checkedAt = timedOut ? System.nanoTime() - probeIntervalNanos : System.nanoTime();
+        return new Snapshot(checkedAt, databaseUp, databaseError, probeMillis,
+                Math.max(acquireMillis, poolWaitMillis()), migrations, migrationsComplete);
+    }
+
+    // Average connection acquire time since the previous probe, from Hikari's acquire timer
+    private double poolWaitMillis() {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        if (acquire == null) {
+            return 0;
+        }
+        long count = acquire.count();
+        double totalMillis = acquire.totalTime(TimeUnit.MILLISECONDS);
+        long acquired = count - lastAcquireCount;
+        double waited = totalMillis - lastAcquireMillis;
+        lastAcquireCount = count;
+        lastAcquireMillis = totalMillis;
+        return acquired > 0 ? waited / acquired : 0;
+    }
+
+    private Map<String, Object> poolDetails() {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        int pending = 0;
+        HikariPoolMXBean hikari = hikariPool();
+        if (hikari != null) {
+            pool.put("active", hikari.getActiveConnections());
+            pool.put("idle", hikari.getIdleConnections());
+            pool.put("total", hikari.getTotalConnections());
+            pending += hikari.getThreadsAwaitingConnection();
+        }
+        if (dataSource instanceof ConcurrencyLimitingDataSource limited) {
+            pool.put("permitsAvailable", limited.getAvailablePermits());
+            pending += limited.getQueueLength();
+        }
+        pool.put("pending", pending);
+        return pool;
+    }
+
+    private HikariPoolMXBean hikariPool() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                    : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenPruneJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Scheduled(cron = "${app.jwt.refresh.prune-cron:0 45 3 * * *}")
+    @Transactional
+    public void pruneExpired() {
+        int pruned = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (pruned > 0) {
+            log.info("Pruned {} expired refresh token(s)", pruned);
+        }
+    }
+}
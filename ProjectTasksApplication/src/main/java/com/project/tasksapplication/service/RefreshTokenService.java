@@ -0,0 +1,127 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.event.PgNotifyChannel;
+import com.project.tasksapplication.model.RefreshToken;
+import com.project.tasksapplication.model.User;
+import com.project.tasksapplication.repository.RefreshTokenRepository;
+import com.project.tasksapplication.security.TokenDenyList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Only an HMAC of each token is stored, so a refresh costs
+ * one HMAC and a primary-key lookup instead of a BCrypt check. Every token can be used once: using it
+ * again means it leaked, and the whole session (token family) is revoked.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenDenyList tokenDenyList;
+    private final ObjectProvider<PgNotifyChannel> notifyChannel;
+    private final SecretKeySpec hmacKey;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            TokenDenyList tokenDenyList,
+            ObjectProvider<PgNotifyChannel> notifyChannel,
+            @Value("${app.jwt.secret}") String secret,
+            @Value("${app.jwt.refresh.expiration:14d}") Duration refreshTokenTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenDenyList = tokenDenyList;
+        this.notifyChannel = notifyChannel;
+        this.hmacKey = new SecretKeySpec(("refresh-token:" + secret).getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    public record Rotation(User user, UUID sessionId, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(User user, UUID sessionId) {
+        byte[] random = new byte[32];
+        secureRandom.nextBytes(random);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .familyId(sessionId)
+                .user(user)
+                .createdAt(now)
+                .expiresAt(now.plus(refreshTokenTtl))
+                .build());
+        return token;
+    }
+
+    /**
+     * Consumes {@code token} and issues its successor in the same session. Revocation of a reused
+     * token's session must survive the exception, hence no rollback for authentication failures.
+     */
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public Rotation rotate(String token) {
+        String tokenHash = hash(token);
+        RefreshToken current = refreshTokenRepository.findWithUserByTokenHash(tokenHash)
+                .orElseThrow(() -> new CredentialsExpiredException("Refresh token is invalid"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null || tokenDenyList.isRevoked(current.getFamilyId())) {
+            throw new CredentialsExpiredException("Refresh token has been revoked");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new CredentialsExpiredException("Refresh token has expired");
+        }
+        if (refreshTokenRepository.markUsed(tokenHash, now) == 0) {
+            revokeSession(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected for user {}, session {} revoked",
+                    current.getUser().getId(), current.getFamilyId());
+            throw new CredentialsExpiredException("Refresh token has already been used");
+        }
+
+        return new Rotation(current.getUser(), current.getFamilyId(), issue(current.getUser(), current.getFamilyId()));
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findById(hash(token))
+                .ifPresent(current -> revokeSession(current.getFamilyId(), LocalDateTime.now()));
+    }
+
+    private void revokeSession(UUID sessionId, LocalDateTime now) {
+        refreshTokenRepository.revokeFamily(sessionId, now);
+        tokenDenyList.revoke(sessionId);
+        // Sent with the revocation's transaction, so other instances only deny what was committed
+        notifyChannel.ifAvailable(channel -> channel.publishRevocation(sessionId));
+    }
+
+    private String hash(String token) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            return HexFormat.of().formatHex(mac.doFinal(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+}
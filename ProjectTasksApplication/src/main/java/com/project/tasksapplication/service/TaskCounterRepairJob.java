@@ -0,0 +1,35 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskCounterRepairJob {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectListCache projectListCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${app.counters.repair-cron:0 0 3 * * *}")
+    public void repairTaskCounters() {
+        int repaired = 0;
+        for (Long projectId : projectRepository.findIdsWithDriftedTaskCounters()) {
+            // one short transaction per project: lock the row, then recount from a fresh snapshot
+            Integer updated = transactionTemplate.execute(status -> projectRepository.lockById(projectId)
+                    .map(id -> projectRepository.recomputeTaskCounters(id))
+                    .orElse(0));
+            repaired += updated != null ? updated : 0;
+        }
+        if (repaired > 0) {
+            log.warn("Repaired task counters on {} project(s)", repaired);
+            // repairs publish no change events, so drop cached listings once the fix is visible
+            projectListCache.invalidateAll();
+        }
+    }
+}
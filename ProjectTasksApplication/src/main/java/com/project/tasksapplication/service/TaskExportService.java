@@ -0,0 +1,116 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.dto.request.TaskDataFormat;
+import com.project.tasksapplication.dto.response.TaskResponse;
+import com.project.tasksapplication.mapper.TaskMapper;
+import com.project.tasksapplication.repository.CommitHorizon;
+import com.project.tasksapplication.repository.TaskJdbcRepository;
+import com.project.tasksapplication.security.SecurityUtils;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final String CSV_HEADER = "id,title,description,completed,due_date,created_at\n";
+
+    private final OwnershipCache ownershipCache;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final TaskMapper taskMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CommitHorizon commitHorizon;
+
+    /**
+     * Checks access up front and returns a body that streams the project's tasks row by row once the
+     * response is committed, so memory use does not depend on the number of tasks.
+     */
+    public StreamingResponseBody exportTasks(Long projectId, String search, Boolean completed, TaskDataFormat format) {
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        if (!ownershipCache.isProjectOwner(projectId, userId)) {
+            throw new EntityNotFoundException("Project not found or access denied");
+        }
+
+        String term = search != null && !search.trim().isEmpty() ? search.trim() : null;
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == TaskDataFormat.CSV) {
+                writer.write(CSV_HEADER);
+            }
+            int[] rows = {0};
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // a slow download keeps this transaction open, it must not hold back the change feed
+                    commitHorizon.excludeCurrentTransaction();
+                    taskJdbcRepository.streamByProjectId(projectId, term, completed, task -> {
+                        try {
+                            writeRow(writer, format, taskMapper.toDto(task));
+                            if (++rows[0] % FLUSH_EVERY_ROWS == 0) {
+                                writer.flush();
+                            }
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private void writeRow(Writer writer, TaskDataFormat format, TaskResponse task) throws IOException {
+        if (format == TaskDataFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(task));
+            writer.write('\n');
+            return;
+        }
+        writer.write(String.valueOf(task.getId()));
+        writer.write(',');
+        writer.write(csv(task.getTitle()));
+        writer.write(',');
+        writer.write(csv(task.getDescription()));
+        writer.write(',');
+        writer.write(String.valueOf(task.isCompleted()));
+        writer.write(',');
+        writer.write(csv(task.getDueDate()));
+        writer.write(',');
+        writer.write(csv(task.getCreatedAt()));
+        writer.write('\n');
+    }
+
+    private static String csv(LocalDateTime value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        // Spreadsheets evaluate cells starting with these as formulas, so they are exported as text
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,477 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.dto.request.TaskDataFormat;
+import com.project.tasksapplication.dto.request.TaskRequest;
+import com.project.tasksapplication.dto.response.TaskImportResponse;
+import com.project.tasksapplication.event.ChangeEvent;
+import com.project.tasksapplication.mapper.TaskMapper;
+import com.project.tasksapplication.model.Task;
+import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.TaskJdbcRepository;
+import com.project.tasksapplication.security.SecurityUtils;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from a CSV or NDJSON request body. Records are read one at a time and written in
+ * fixed-size chunks, each in its own transaction, so memory stays bounded and a failing chunk does not
+ * roll back the chunks before it. The next chunk is only read once the previous one has been committed,
+ * which keeps a fast client from outrunning the database. A single record is capped at
+ * {@code app.tasks.import.max-record-length} characters and, for quoted CSV fields spanning lines, at
+ * {@code app.tasks.import.max-record-lines} lines; a longer record is reported as a failed line and
+ * skipped instead of being buffered.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskImportService {
+
+    private final ProjectRepository projectRepository;
+    private final OwnershipCache ownershipCache;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final TaskMapper taskMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.tasks.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.tasks.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.tasks.import.max-record-length:65536}")
+    private int maxRecordLength;
+
+    @Value("${app.tasks.import.max-record-lines:100}")
+    private int maxRecordLines;
+
+    public TaskImportResponse importTasks(Long projectId, InputStream body, TaskDataFormat format) throws IOException {
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        if (!ownershipCache.isProjectOwner(projectId, userId)) {
+            throw new EntityNotFoundException("Project not found or access denied");
+        }
+
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(projectId);
+        LineReader reader = new LineReader(new InputStreamReader(body, StandardCharsets.UTF_8), maxRecordLength);
+        RecordSource source = format == TaskDataFormat.CSV
+                ? new CsvRecordSource(reader, maxRecordLength, maxRecordLines)
+                : new NdjsonRecordSource(reader);
+
+        try {
+            for (ParsedRecord record = source.next(); record != null; record = source.next()) {
+                run.processed++;
+                if (record.error() != null) {
+                    run.reject(record.line(), record.error());
+                    continue;
+                }
+                String violations = validate(record.request());
+                if (violations != null) {
+                    run.reject(record.line(), violations);
+                    continue;
+                }
+                Task task = taskMapper.toEntity(record.request());
+                task.setCompleted(record.completed());
+                run.add(record.line(), task);
+                if (run.chunk.size() >= chunkSize) {
+                    run.flush();
+                }
+            }
+            run.flush();
+        } finally {
+            // Chunks already committed stay committed when the body breaks off, clients must still hear of them
+            if (run.imported > 0) {
+                eventPublisher.publishEvent(ChangeEvent.tasks(userId, projectId));
+            }
+        }
+
+        long durationMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        return TaskImportResponse.builder()
+                .processed(run.processed)
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.errorsTruncated)
+                .durationMillis(durationMillis)
+                .recordsPerSecond(Math.round(run.processed * 1000.0 / durationMillis * 100.0) / 100.0)
+                .build();
+    }
+
+    private String validate(TaskRequest request) {
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private class ImportRun {
+        private final Long projectId;
+        private final List<Task> chunk = new ArrayList<>();
+        private final List<TaskImportResponse.LineError> errors = new ArrayList<>();
+        private long firstChunkLine;
+        private long processed;
+        private long imported;
+        private long failed;
+        private boolean errorsTruncated;
+
+        ImportRun(Long projectId) {
+            this.projectId = projectId;
+        }
+
+        void add(long line, Task task) {
+            if (chunk.isEmpty()) {
+                firstChunkLine = line;
+            }
+            chunk.add(task);
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new TaskImportResponse.LineError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            int completed = (int) chunk.stream().filter(Task::isCompleted).count();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<Long> ids = taskJdbcRepository.batchInsert(projectId, chunk);
+                    projectRepository.adjustTaskCounters(projectId, ids.size(), completed);
+                });
+                imported += chunk.size();
+            } catch (DataAccessException ex) {
+                failed += chunk.size();
+                String cause = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new TaskImportResponse.LineError(firstChunkLine,
+                            "Chunk of " + chunk.size() + " records starting at this line was not imported: " + cause));
+                } else {
+                    errorsTruncated = true;
+                }
+            }
+            chunk.clear();
+        }
+    }
+
+    private record ParsedRecord(long line, TaskRequest request, boolean completed, String error) {
+
+        static ParsedRecord failed(long line, String error) {
+            return new ParsedRecord(line, null, false, error);
+        }
+    }
+
+    private interface RecordSource {
+        ParsedRecord next() throws IOException;
+    }
+
+    private static ParsedRecord toRecord(long line, String title, String description, String dueDate, String completed) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDescription(description == null || description.isEmpty() ? null : description);
+        try {
+            request.setDueDate(parseDueDate(dueDate));
+        } catch (DateTimeParseException ex) {
+            return ParsedRecord.failed(line, "dueDate: Invalid date '" + dueDate + "'");
+        }
+        Boolean done = parseBoolean(completed);
+        if (done == null) {
+            return ParsedRecord.failed(line, "completed: Invalid boolean '" + completed + "'");
+        }
+        return new ParsedRecord(line, request, done, null);
+    }
+
+    private static LocalDateTime parseDueDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() == 10 ? LocalDate.parse(trimmed).atStartOfDay() : LocalDateTime.parse(trimmed);
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "y" -> true;
+            case "false", "0", "no", "n" -> false;
+            default -> null;
+        };
+    }
+
+    /**
+     * Splits a character stream into lines terminated by LF or CRLF. A line longer than the limit is
+     * consumed up to its terminator but only its first {@code maxLength} characters are kept, so an
+     * endless line costs no more memory than a valid one.
+     */
+    private static final class LineReader {
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private boolean truncated;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Returns the next line, keeping at most {@code budget} characters (capped at the reader's
+         * limit), or null at end of input.
+         */
+        String readLine(int budget) throws IOException {
+            int keep = Math.min(budget, maxLength);
+            StringBuilder line = null;
+            truncated = false;
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(0, reader.read(buffer, 0, buffer.length));
+                    position = 0;
+                    if (limit == 0) {
+                        return line == null ? null : line.toString();
+                    }
+                }
+                if (line == null) {
+                    line = new StringBuilder();
+                }
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                int take = Math.min(position - start, Math.max(0, keep - line.length()));
+                truncated |= take < position - start;
+                line.append(buffer, start, take);
+                if (position < limit) {
+                    position++;
+                    if (!truncated && !line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                        line.setLength(line.length() - 1);
+                    }
+                    return line.toString();
+                }
+            }
+        }
+
+        String readLine() throws IOException {
+            return readLine(maxLength);
+        }
+
+        boolean truncated() {
+            return truncated;
+        }
+    }
+
+    private class NdjsonRecordSource implements RecordSource {
+        private final LineReader reader;
+        private long line;
+
+        NdjsonRecordSource(LineReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRecord next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            if (reader.truncated()) {
+                return ParsedRecord.failed(line, "Record exceeds " + maxRecordLength + " characters");
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JacksonException ex) {
+                return ParsedRecord.failed(line, "Malformed JSON");
+            }
+            if (!node.isObject()) {
+                return ParsedRecord.failed(line, "Expected a JSON object");
+            }
+            return toRecord(line, field(node, "title"), field(node, "description"),
+                    field(node, "dueDate", "due_date"), field(node, "completed"));
+        }
+
+        private String field(JsonNode node, String... names) {
+            for (String name : names) {
+                JsonNode value = node.get(name);
+                if (value != null && !value.isNull()) {
+                    return value.asString();
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class CsvRecordSource implements RecordSource {
+        private final LineReader reader;
+        private final int maxRecordLength;
+        private final int maxRecordLines;
+        private Map<String, Integer> columns;
+        private long line;
+        private String recordError;
+
+        CsvRecordSource(LineReader reader, int maxRecordLength, int maxRecordLines) {
+            this.reader = reader;
+            this.maxRecordLength = maxRecordLength;
+            this.maxRecordLines = maxRecordLines;
+        }
+
+        @Override
+        public ParsedRecord next() throws IOException {
+            if (columns == null) {
+                readHeader();
+            }
+            List<String> fields;
+            long recordLine;
+            do {
+                recordLine = line + 1;
+                fields = readFields();
+            } while (fields != null && recordError == null && fields.size() == 1 && fields.get(0).isBlank());
+            if (fields == null) {
+                return null;
+            }
+            if (recordError != null) {
+                return ParsedRecord.failed(recordLine, recordError);
+            }
+            return toRecord(recordLine, column(fields, "title"), column(fields, "description"),
+                    column(fields, "due_date"), column(fields, "completed"));
+        }
+
+        private void readHeader() throws IOException {
+            List<String> header = readFields();
+            if (recordError != null) {
+                throw new IllegalArgumentException("CSV header: " + recordError);
+            }
+            columns = new HashMap<>();
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) {
+                    String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                    columns.putIfAbsent(name.equals("duedate") ? "due_date" : name, i);
+                }
+            }
+            if (!columns.containsKey("title")) {
+                throw new IllegalArgumentException("CSV header must contain a title column");
+            }
+        }
+
+        private String column(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            return index != null && index < fields.size() ? fields.get(index) : null;
+        }
+
+        /**
+         * Reads one RFC 4180 record, which may span several physical lines when a quoted field contains
+         * line breaks. Returns null at end of input. A record over the length or line limit ends where
+         * the limit was hit, with {@link #recordError} set; parsing resumes on the next physical line.
+         */
+        private List<String> readFields() throws IOException {
+            recordError = null;
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            if (reader.truncated()) {
+                recordError = "Record exceeds " + maxRecordLength + " characters";
+                return List.of();
+            }
+            int length = text.length();
+            int lines = 1;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    if (lines == maxRecordLines) {
+                        recordError = "Quoted field spans more than " + maxRecordLines + " lines, missing closing quote?";
+                        return List.of();
+                    }
+                    String continuation = reader.readLine(maxRecordLength - length - 1);
+                    if (continuation == null) {
+                        break;
+                    }
+                    line++;
+                    lines++;
+                    length += continuation.length() + 1;
+                    if (reader.truncated()) {
+                        recordError = "Record exceeds " + maxRecordLength + " characters";
+                        return List.of();
+                    }
+                    field.append('\n');
+                    text = continuation;
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
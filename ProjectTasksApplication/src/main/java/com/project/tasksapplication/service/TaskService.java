@@ -1,26 +1,42 @@
 package com.project.tasksapplication.service;
 
 import com.project.tasksapplication.dto.request.TaskRequest;
+import com.project.tasksapplication.dto.request.TaskBatchCreateRequest;
+import com.project.tasksapplication.dto.request.TaskBatchDeleteRequest;
+import com.project.tasksapplication.dto.request.TaskBatchStatusRequest;
+import com.project.tasksapplication.dto.request.TaskPatchRequest;
+import com.project.tasksapplication.dto.request.TaskSearchMode;
+import com.project.tasksapplication.dto.response.CursorPageResponse;
 import com.project.tasksapplication.dto.response.PageResponse;
+import com.project.tasksapplication.dto.response.TaskBatchResponse;
 import com.project.tasksapplication.dto.response.TaskResponse;
+import com.project.tasksapplication.event.ChangeEvent;
+import com.project.tasksapplication.exception.PreconditionFailedException;
+import com.project.tasksapplication.mapper.CursorCodec;
 import com.project.tasksapplication.mapper.TaskMapper;
 import com.project.tasksapplication.model.Project;
 import com.project.tasksapplication.model.Task;
-import com.project.tasksapplication.model.User;
 import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.TaskJdbcRepository;
 import com.project.tasksapplication.repository.TaskRepository;
-import com.project.tasksapplication.repository.UserRepository;
+import com.project.tasksapplication.repository.TaskTombstoneRepository;
+import com.project.tasksapplication.repository.projection.ChangeFingerprint;
+import com.project.tasksapplication.security.SecurityUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,44 +44,42 @@ import java.util.stream.Collectors;
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskJdbcRepository taskJdbcRepository;
     private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final OwnershipCache ownershipCache;
     private final TaskMapper taskMapper;
-
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-    }
+    private final CursorCodec cursorCodec;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TaskResponse createTask(Long projectId, TaskRequest request) {
-        User user = getCurrentUser();
-
-        if (!projectRepository.existsById(projectId)) {
-            throw new EntityNotFoundException("Project not found");
-        }
-
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new RuntimeException("Access denied: You can only add tasks to projects you own"));
+        Project project = requireOwnedProject(projectId, "Access denied: You can only add tasks to projects you own");
 
         Task task = taskMapper.toEntity(request);
         task.setProject(project);
 
         Task savedTask = taskRepository.save(task);
+        projectRepository.adjustTaskCounters(projectId, 1, savedTask.isCompleted() ? 1 : 0);
+        publish(ChangeEvent.Type.CREATED, savedTask.getId(), projectId);
         return taskMapper.toDto(savedTask);
     }
 
+    /**
+     * Returns the fingerprint of the project's tasks, checking ownership in the same query, so an
+     * unchanged task list can be answered with 304 Not Modified after a single statement.
+     */
     @Transactional(readOnly = true)
-    public List<TaskResponse> getTasksByProjectId(Long projectId) {
-        User user = getCurrentUser();
+    public ChangeFingerprint getTasksFingerprint(Long projectId) {
+        Long userId = SecurityUtils.getCurrentUserId();
 
-        if (!projectRepository.existsById(projectId)) { 
-            throw new EntityNotFoundException("Project not found");
-        }
+        return projectRepository.findTasksFingerprint(projectId, userId)
+                .orElseThrow(() -> projectAccessFailure(projectId, "Access denied"));
+    }
 
-        projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new EntityNotFoundException("Access denied"));
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksByProjectId(Long projectId) {
+        requireOwnedProject(projectId, "Access denied");
 
         return taskRepository.findByProjectId(projectId).stream()
                 .map(taskMapper::toDto)
@@ -73,23 +87,20 @@ public class TaskService {
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<TaskResponse> getTasksByProjectIdPaginated(Long projectId, int page, int size, String search, Boolean completed) {
-        User user = getCurrentUser();
-
-        if (!projectRepository.existsById(projectId)) { 
-            throw new EntityNotFoundException("Project not found");
-        }
-
-        projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new EntityNotFoundException("Access denied"));
+    public PageResponse<TaskResponse> getTasksByProjectIdPaginated(Long projectId, int page, int size, String search, Boolean completed,
+                                                                   TaskSearchMode mode) {
+        requireOwnedProject(projectId, "Access denied");
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Task> taskPage = taskRepository.findByProjectIdWithFilters(
-                projectId,
-                search != null && !search.trim().isEmpty() ? search.trim() : null,
-                completed,
-                pageable
-        );
+        String term = search != null && !search.trim().isEmpty() ? search.trim() : null;
+        Page<Task> taskPage;
+        if (term == null) {
+            taskPage = taskRepository.findByProjectIdWithFilters(projectId, completed, pageable);
+        } else if (mode == TaskSearchMode.FULLTEXT) {
+            taskPage = taskRepository.findByProjectIdFullText(projectId, term, completed, pageable);
+        } else {
+            taskPage = taskRepository.findByProjectIdSubstring(projectId, term, completed, pageable);
+        }
 
         List<TaskResponse> content = taskPage.getContent().stream()
                 .map(taskMapper::toDto)
@@ -106,51 +117,229 @@ public class TaskService {
                 .build();
     }
 
-    @Transactional
-    public TaskResponse updateTask(Long taskId, TaskRequest request) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> getTasksByProjectIdKeyset(Long projectId, String cursor, int size, Boolean completed,
+                                                                      boolean includeTotal) {
+        CursorCodec.requirePageSize(size);
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        // the counters are only needed for the total, otherwise the cached ownership is enough
+        Project project = null;
+        if (includeTotal) {
+            project = projectRepository.findByIdAndUserId(projectId, userId)
+                    .orElseThrow(() -> new EntityNotFoundException("Project not found or access denied"));
+        } else if (!ownershipCache.isProjectOwner(projectId, userId)) {
+            throw new EntityNotFoundException("Project not found or access denied");
+        }
+
+        Limit limit = Limit.of(size + 1);
+        List<Task> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = taskRepository.findFirstKeysetPage(projectId, completed, limit);
+        } else {
+            CursorCodec.Cursor position = cursorCodec.decode(cursor);
+            tasks = taskRepository.findKeysetPageAfter(projectId, completed, position.createdAt(), position.id(), limit);
+        }
 
-        User user = getCurrentUser();
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Access denied");
+        boolean hasNext = tasks.size() > size;
+        if (hasNext) {
+            tasks = tasks.subList(0, size);
         }
 
+        String nextCursor = null;
+        if (hasNext) {
+            Task last = tasks.get(tasks.size() - 1);
+            nextCursor = cursorCodec.encode(last.getCreatedAt(), last.getId());
+        }
+
+        Long totalElements = null;
+        if (includeTotal) {
+            if (completed == null) {
+                totalElements = (long) project.getTotalTasks();
+            } else if (completed) {
+                totalElements = (long) project.getCompletedTasks();
+            } else {
+                totalElements = (long) project.getTotalTasks() - project.getCompletedTasks();
+            }
+        }
+
+        return CursorPageResponse.<TaskResponse>builder()
+                .content(tasks.stream().map(taskMapper::toDto).collect(Collectors.toList()))
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalElements(totalElements)
+                .build();
+    }
+
+    @Transactional
+    public TaskResponse updateTask(Long taskId, TaskRequest request, Long expectedVersion) {
+        Task task = requireOwnedTask(taskId);
+        requireVersion(task.getVersion(), expectedVersion);
+
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         if (request.getDueDate() != null) {
             task.setDueDate(request.getDueDate());
         }
 
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        publish(ChangeEvent.Type.UPDATED, taskId, task.getProject().getId());
         return taskMapper.toDto(updatedTask);
     }
 
     @Transactional
-    public TaskResponse updateTaskStatus(Long taskId, boolean completed) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
+    public void updateTaskStatus(Long taskId, boolean completed, Long expectedVersion) {
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        int changed = taskRepository.updateCompletedIfOwned(taskId, userId, completed, expectedVersion);
+        if (changed > 0) {
+            projectRepository.adjustCompletedTasksForTask(taskId, completed ? 1 : -1);
+            publish(ChangeEvent.Type.STATUS_CHANGED, taskId, null);
+            return;
+        }
+        Long version = taskRepository.findVersionByIdAndOwnerId(taskId, userId)
+                .orElseThrow(() -> taskAccessFailure(taskId));
+        requireVersion(version, expectedVersion);
+    }
+
+    @Transactional
+    public void patchTask(Long taskId, TaskPatchRequest request, Long expectedVersion) {
+        if (request.isEmpty()) {
+            requireVersion(requireOwnedTask(taskId).getVersion(), expectedVersion);
+            return;
+        }
+        Long userId = SecurityUtils.getCurrentUserId();
 
-        User user = getCurrentUser();
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Access denied");
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (request.isTitlePresent()) {
+            fields.put("title", request.getTitle());
+        }
+        if (request.isDescriptionPresent()) {
+            fields.put("description", request.getDescription());
+        }
+        if (request.isDueDatePresent()) {
+            fields.put("dueDate", request.getDueDate());
         }
 
-        task.setCompleted(completed);
-        Task updatedTask = taskRepository.save(task);
-        return taskMapper.toDto(updatedTask);
+        if (taskRepository.updateFieldsIfOwned(taskId, userId, expectedVersion, fields) == 0) {
+            if (expectedVersion == null) {
+                throw taskAccessFailure(taskId);
+            }
+            Long version = taskRepository.findVersionByIdAndOwnerId(taskId, userId)
+                    .orElseThrow(() -> taskAccessFailure(taskId));
+            requireVersion(version, expectedVersion);
+            return;
+        }
+        publish(ChangeEvent.Type.UPDATED, taskId, null);
     }
 
     @Transactional
     public void deleteTask(Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
+        Task task = requireOwnedTask(taskId);
 
-        User user = getCurrentUser();
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Access denied");
+        Long projectId = task.getProject().getId();
+        taskRepository.delete(task);
+        taskTombstoneRepository.recordDeletion(taskId, projectId);
+        projectRepository.adjustTaskCounters(projectId, -1, task.isCompleted() ? -1 : 0);
+        publish(ChangeEvent.Type.DELETED, taskId, projectId);
+    }
+
+    @Transactional
+    public TaskBatchResponse createTasks(Long projectId, TaskBatchCreateRequest request) {
+        requireOwnedProject(projectId, "Access denied: You can only add tasks to projects you own");
+
+        List<Task> tasks = request.getTasks().stream()
+                .map(taskMapper::toEntity)
+                .collect(Collectors.toList());
+
+        List<Long> ids = taskJdbcRepository.batchInsert(projectId, tasks);
+        int completed = (int) tasks.stream().filter(Task::isCompleted).count();
+        projectRepository.adjustTaskCounters(projectId, ids.size(), completed);
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(ChangeEvent.tasks(SecurityUtils.getCurrentUserId(), projectId));
         }
 
-        taskRepository.delete(task);
+        return TaskBatchResponse.builder()
+                .requested(tasks.size())
+                .affected(ids.size())
+                .ids(ids)
+                .build();
+    }
+
+    @Transactional
+    public TaskBatchResponse updateTasksStatus(Long projectId, TaskBatchStatusRequest request) {
+        requireOwnedProject(projectId, "Access denied");
+
+        Set<Long> taskIds = new LinkedHashSet<>(request.getTaskIds());
+        boolean completed = request.getCompleted();
+        int changed = taskJdbcRepository.updateCompleted(projectId, taskIds, completed);
+        if (changed > 0) {
+            projectRepository.adjustTaskCounters(projectId, 0, completed ? changed : -changed);
+            eventPublisher.publishEvent(ChangeEvent.tasks(SecurityUtils.getCurrentUserId(), projectId));
+        }
+
+        return TaskBatchResponse.builder()
+                .requested(request.getTaskIds().size())
+                .affected(changed)
+                .build();
+    }
+
+    @Transactional
+    public TaskBatchResponse deleteTasks(Long projectId, TaskBatchDeleteRequest request) {
+        requireOwnedProject(projectId, "Access denied");
+
+        Set<Long> taskIds = new LinkedHashSet<>(request.getTaskIds());
+        TaskJdbcRepository.Deletion deletion = taskJdbcRepository.deleteWithTombstones(projectId, taskIds);
+        if (deletion.deleted() > 0) {
+            projectRepository.adjustTaskCounters(projectId, -deletion.deleted(), -deletion.completed());
+            eventPublisher.publishEvent(ChangeEvent.tasks(SecurityUtils.getCurrentUserId(), projectId));
+        }
+
+        return TaskBatchResponse.builder()
+                .requested(request.getTaskIds().size())
+                .affected(deletion.deleted())
+                .build();
+    }
+
+    private void publish(ChangeEvent.Type type, Long taskId, Long projectId) {
+        eventPublisher.publishEvent(ChangeEvent.task(SecurityUtils.getCurrentUserId(), type, taskId, projectId));
+    }
+
+    /**
+     * Checks ownership through the cache and returns an uninitialized reference, so callers that only
+     * need the project's id, e.g. to attach a task to it, do not load the row.
+     */
+    private Project requireOwnedProject(Long projectId, String accessDeniedMessage) {
+        if (!ownershipCache.isProjectOwner(projectId, SecurityUtils.getCurrentUserId())) {
+            throw projectAccessFailure(projectId, accessDeniedMessage);
+        }
+        return projectRepository.getReferenceById(projectId);
+    }
+
+    private RuntimeException projectAccessFailure(Long projectId, String accessDeniedMessage) {
+        if (ownershipCache.getProjectOwner(projectId) == null) {
+            return new EntityNotFoundException("Project not found");
+        }
+        return new RuntimeException(accessDeniedMessage);
+    }
+
+    private Task requireOwnedTask(Long taskId) {
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        return taskRepository.findByIdAndOwnerId(taskId, userId).orElseThrow(() -> taskAccessFailure(taskId));
+    }
+
+    private void requireVersion(Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException("Precondition failed: task has been modified");
+        }
+    }
+
+    private RuntimeException taskAccessFailure(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            return new EntityNotFoundException("Task not found");
+        }
+        return new RuntimeException("Access denied");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.repository.ProjectTombstoneRepository;
+import com.project.tasksapplication.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TombstonePruneJob {
+
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final ProjectTombstoneRepository projectTombstoneRepository;
+
+    @Value("${app.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    @Scheduled(cron = "${app.sync.prune-cron:0 30 3 * * *}")
+    @Transactional
+    public void pruneTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        int pruned = taskTombstoneRepository.deleteOlderThan(cutoff) + projectTombstoneRepository.deleteOlderThan(cutoff);
+        if (pruned > 0) {
+            log.info("Pruned {} tombstone(s) older than {}", pruned, cutoff);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Denormalized task counters, maintained by TaskService on every task write
+ALTER TABLE projects ADD COLUMN total_tasks INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN completed_tasks INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill from existing tasks
+UPDATE projects p
+SET total_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id),
+    completed_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.completed = TRUE);
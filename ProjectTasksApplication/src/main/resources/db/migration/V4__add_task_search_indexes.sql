@@ -0,0 +1,16 @@
+-- Index support for task search (TaskRepository.findByProjectIdWithFilters / findByProjectIdFullText)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- Substring mode: ILIKE '%term%' is served by trigram indexes
+CREATE INDEX idx_tasks_project_title_trgm ON tasks USING GIN (project_id, title gin_trgm_ops);
+CREATE INDEX idx_tasks_project_description_trgm ON tasks USING GIN (project_id, description gin_trgm_ops);
+
+-- Full-text mode: weighted document kept in sync by PostgreSQL
+ALTER TABLE tasks ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_tasks_project_search_vector ON tasks USING GIN (project_id, search_vector);
@@ -0,0 +1,12 @@
+-- ProjectRepository: findByUserId, findByIdAndUserId, summaries, keyset pages and countByUserId
+CREATE INDEX idx_projects_user_created ON projects (user_id, created_at DESC, id DESC);
+
+-- TaskRepository: findByProjectId, filtered listing ordered by created_at, keyset pages,
+-- and the project_id lookups issued by cascade deletes
+CREATE INDEX idx_tasks_project_created ON tasks (project_id, created_at DESC, id DESC);
+
+-- TaskRepository: completed = false listings (the common "open tasks" filter)
+CREATE INDEX idx_tasks_project_open ON tasks (project_id, created_at DESC, id DESC) WHERE completed = FALSE;
+
+-- TaskRepository: countByProjectId / countByProjectIdAndCompleted and counter recomputation as index-only scans
+CREATE INDEX idx_tasks_project_completed ON tasks (project_id, completed);
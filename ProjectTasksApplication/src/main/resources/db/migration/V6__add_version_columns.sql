@@ -0,0 +1,3 @@
+-- Optimistic locking and ETag versions for Project and Task
+ALTER TABLE projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,24 @@
+-- Delta sync: rows are read in (updated_at, id) order per parent, deletes leave tombstones behind
+UPDATE projects SET updated_at = COALESCE(created_at, NOW()) WHERE updated_at IS NULL;
+UPDATE tasks SET updated_at = COALESCE(created_at, NOW()) WHERE updated_at IS NULL;
+
+CREATE INDEX idx_tasks_project_updated ON tasks (project_id, updated_at, id);
+CREATE INDEX idx_projects_user_updated ON projects (user_id, updated_at, id);
+
+CREATE TABLE task_tombstones (
+    task_id BIGINT PRIMARY KEY,
+    project_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_task_tombstones_project_deleted ON task_tombstones (project_id, deleted_at, task_id);
+CREATE INDEX idx_task_tombstones_deleted ON task_tombstones (deleted_at);
+
+CREATE TABLE project_tombstones (
+    project_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_project_tombstones_user_deleted ON project_tombstones (user_id, deleted_at, project_id);
+CREATE INDEX idx_project_tombstones_deleted ON project_tombstones (deleted_at);
@@ -0,0 +1,172 @@
+package com.project.tasksapplication.controller;
+
+import com.project.tasksapplication.model.Project;
+import com.project.tasksapplication.model.Task;
+import com.project.tasksapplication.model.User;
+import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.TaskRepository;
+import com.project.tasksapplication.repository.UserRepository;
+import com.project.tasksapplication.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:conditional-requests;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private UserPrincipal owner;
+    private Long projectId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .email(name + "@example.com")
+                .username(name)
+                .password("password")
+                .build());
+        owner = new UserPrincipal(user.getId(), user.getEmail(), null);
+
+        Project project = projectRepository.save(Project.builder().title("Project").user(user).build());
+        projectId = project.getId();
+        taskId = taskRepository.save(Task.builder().title("Task").completed(false).project(project).build()).getId();
+    }
+
+    @Test
+    void unchangedTaskListIsNotModified() throws Exception {
+        String etag = etagOf(get("/api/projects/" + projectId + "/tasks"));
+
+        perform(get("/api/projects/" + projectId + "/tasks").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void taskListTagDependsOnQueryParameters() throws Exception {
+        String all = etagOf(get("/api/projects/" + projectId + "/tasks"));
+        String paginated = etagOf(get("/api/projects/" + projectId + "/tasks").param("paginated", "true"));
+
+        assertNotEquals(all, paginated);
+        perform(get("/api/projects/" + projectId + "/tasks").param("paginated", "true")
+                .header(HttpHeaders.IF_NONE_MATCH, all))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void taskChangesInvalidateListAndProjectTags() throws Exception {
+        String listTag = etagOf(get("/api/projects/" + projectId + "/tasks"));
+        String projectTag = etagOf(get("/api/projects/" + projectId));
+        String projectsTag = etagOf(get("/api/projects"));
+
+        perform(patch("/api/tasks/" + taskId + "/status").param("completed", "true")).andExpect(status().isNoContent());
+
+        perform(get("/api/projects/" + projectId + "/tasks").header(HttpHeaders.IF_NONE_MATCH, listTag))
+                .andExpect(status().isOk());
+        perform(get("/api/projects/" + projectId).header(HttpHeaders.IF_NONE_MATCH, projectTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completedTasks").value(1));
+        perform(get("/api/projects").header(HttpHeaders.IF_NONE_MATCH, projectsTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void cachedProjectListReflectsWrites() throws Exception {
+        perform(get("/api/projects")).andExpect(status().isOk()).andExpect(jsonPath("$[0].title").value("Project"));
+        perform(get("/api/projects")).andExpect(status().isOk()).andExpect(jsonPath("$[0].completedTasks").value(0));
+
+        perform(put("/api/projects/" + projectId).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isOk());
+        perform(patch("/api/tasks/" + taskId + "/status").param("completed", "true")).andExpect(status().isNoContent());
+
+        perform(get("/api/projects")).andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Renamed"))
+                .andExpect(jsonPath("$[0].completedTasks").value(1));
+    }
+
+    @Test
+    void staleIfMatchIsRejected() throws Exception {
+        perform(put("/api/tasks/" + taskId).header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"First\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        perform(put("/api/tasks/" + taskId).header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Second\"}"))
+                .andExpect(status().isPreconditionFailed());
+        perform(patch("/api/tasks/" + taskId).header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Second\"}"))
+                .andExpect(status().isPreconditionFailed());
+        perform(patch("/api/tasks/" + taskId + "/status").header(HttpHeaders.IF_MATCH, "\"0\"").param("completed", "true"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("First", taskRepository.findById(taskId).orElseThrow().getTitle());
+    }
+
+    @Test
+    void projectIfMatchIgnoresTaskCounters() throws Exception {
+        String projectTag = etagOf(get("/api/projects/" + projectId));
+        perform(patch("/api/tasks/" + taskId + "/status").param("completed", "true")).andExpect(status().isNoContent());
+
+        perform(put("/api/projects/" + projectId).header(HttpHeaders.IF_MATCH, projectTag)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isOk());
+        perform(put("/api/projects/" + projectId).header(HttpHeaders.IF_MATCH, projectTag)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Renamed again\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private String etagOf(MockHttpServletRequestBuilder request) throws Exception {
+        String etag = perform(request).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.with(authentication(new UsernamePasswordAuthenticationToken(owner, null, List.of()))));
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.tasksapplication.controller;
+
+import com.project.tasksapplication.model.Project;
+import com.project.tasksapplication.model.User;
+import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.UserRepository;
+import com.project.tasksapplication.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:event-stream;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private UserPrincipal owner;
+    private UserPrincipal stranger;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        User user = saveUser();
+        owner = new UserPrincipal(user.getId(), user.getEmail(), null);
+        User other = saveUser();
+        stranger = new UserPrincipal(other.getId(), other.getEmail(), null);
+        projectId = projectRepository.save(Project.builder().title("Project").user(user).build()).getId();
+    }
+
+    @Test
+    void committedChangesReachOnlyTheOwnersStream() throws Exception {
+        MockHttpServletResponse ownerStream = subscribe(owner);
+        MockHttpServletResponse strangerStream = subscribe(stranger);
+
+        perform(post("/api/projects/" + projectId + "/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Task\"}"), owner)
+                .andExpect(status().isCreated());
+        perform(post("/api/projects/" + projectId + "/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Intruder\"}"), stranger)
+                .andExpect(status().isForbidden());
+
+        assertTrue(awaitContent(ownerStream, "event:task.created"));
+        assertTrue(ownerStream.getContentAsString().contains("\"projectId\":" + projectId));
+        assertTrue(strangerStream.getContentAsString().contains("event:ready"));
+        assertFalse(strangerStream.getContentAsString().contains("event:task."));
+    }
+
+    private MockHttpServletResponse subscribe(UserPrincipal principal) throws Exception {
+        MockHttpServletResponse response = perform(get("/api/events").accept(MediaType.TEXT_EVENT_STREAM), principal)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+        assertTrue(awaitContent(response, "event:ready"));
+        return response;
+    }
+
+    private boolean awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            if (response.getContentAsString().contains(expected)) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, UserPrincipal principal) throws Exception {
+        return mockMvc.perform(request.with(authentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()))));
+    }
+
+    private User saveUser() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder().email(name + "@example.com").username(name).password("password").build());
+    }
+}
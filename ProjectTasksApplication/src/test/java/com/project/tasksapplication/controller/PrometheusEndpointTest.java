@@ -0,0 +1,95 @@
+package com.project.tasksapplication.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:prometheus;DB_CLOSE_DELAY=-1",
+        "management.server.port=0"
+})
+@ActiveProfiles("test")
+class PrometheusEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void scrapeExposesRequestRepositoryPoolAndSecurityMetrics() throws Exception {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        HttpResponse<String> register = post("/api/auth/register",
+                "{\"email\":\"" + name + "@example.com\",\"username\":\"" + name + "\",\"password\":\"password123\"}");
+        assertEquals(201, register.statusCode());
+        String login = post("/api/auth/login",
+                "{\"email\":\"" + name + "@example.com\",\"password\":\"password123\"}").body();
+        String token = objectMapper.readTree(login).get("token").asString();
+        assertEquals(200, get(port, "/api/projects", token).statusCode());
+
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus", null);
+        assertEquals(200, scrape.statusCode());
+
+        assertScraped(scrape.body(), "http_server_requests_seconds_bucket{", "uri=\"/api/projects\"");
+        assertScraped(scrape.body(), "spring_data_repository_invocations_seconds_bucket{", "repository=\"ProjectRepository\"");
+        assertScraped(scrape.body(), "hikaricp_connections_active{");
+        assertScraped(scrape.body(), "app_datasource_concurrency_available{");
+        assertScraped(scrape.body(), "hibernate_statements_total{");
+        assertScraped(scrape.body(), "app_jwt_verify_seconds_bucket{", "result=\"valid\"");
+        assertScraped(scrape.body(), "app_security_principal_lookup_seconds_bucket{");
+        assertScraped(scrape.body(), "app_password_hash_seconds_bucket{", "operation=\"matches\"");
+    }
+
+    @Test
+    void publicPortDoesNotServeMetricsAnonymously() throws Exception {
+        assertEquals(401, get(port, "/actuator/prometheus", null).statusCode());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(int targetPort, String path, String token) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + targetPort + path)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void assertScraped(String scrape, String metric, String... labels) {
+        boolean found = scrape.lines().anyMatch(line -> {
+            if (!line.startsWith(metric)) {
+                return false;
+            }
+            for (String label : labels) {
+                if (!line.contains(label)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+        assertTrue(found, () -> "Missing " + metric + " " + String.join(",", labels));
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.tasksapplication.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:refresh-tokens;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RefreshTokenFlowTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void refreshRotatesTokensAndReuseRevokesTheSession() throws Exception {
+        JsonNode login = login();
+        String firstRefresh = login.get("refreshToken").asString();
+
+        JsonNode refreshed = refresh(firstRefresh, 200);
+        String accessToken = refreshed.get("token").asString();
+        assertNotEquals(firstRefresh, refreshed.get("refreshToken").asString());
+        mockMvc.perform(get("/api/projects").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        refresh(firstRefresh, 401);
+
+        mockMvc.perform(get("/api/projects").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        refresh(refreshed.get("refreshToken").asString(), 401);
+    }
+
+    @Test
+    void logoutRevokesTheRefreshToken() throws Exception {
+        String refreshToken = login().get("refreshToken").asString();
+
+        mockMvc.perform(post("/api/auth/logout").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isNoContent());
+
+        refresh(refreshToken, 401);
+    }
+
+    private JsonNode login() throws Exception {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + name + "@example.com\",\"username\":\"" + name + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isCreated());
+        String body = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + name + "@example.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode refresh(String refreshToken, int expectedStatus) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.tasksapplication.controller;
+
+import com.project.tasksapplication.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Fires parallel sign-ups for the same email or username and checks that the unique constraints let
+ * exactly one through while every other attempt gets a 409.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:registration;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RegistrationConcurrencyTest {
+
+    private static final int ATTEMPTS = 16;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentSignUpsWithSameEmail() throws Exception {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+
+        List<MockHttpServletResponse> responses = registerConcurrently(i -> name + "@example.com", i -> name + i);
+
+        assertOneCreatedRestConflict(responses, "Email is already in use");
+        assertTrue(userRepository.findByEmail(name + "@example.com").isPresent());
+    }
+
+    @Test
+    void concurrentSignUpsWithSameUsername() throws Exception {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+
+        List<MockHttpServletResponse> responses = registerConcurrently(i -> name + i + "@example.com", i -> name);
+
+        assertOneCreatedRestConflict(responses, "Username is already in use");
+    }
+
+    private List<MockHttpServletResponse> registerConcurrently(IntFunction<String> email, IntFunction<String> username)
+            throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(ATTEMPTS)) {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                String body = "{\"email\":\"" + email.apply(i) + "\",\"username\":\"" + username.apply(i)
+                        + "\",\"password\":\"password123\"}";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/auth/register")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body)).andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+            List<MockHttpServletResponse> responses = new ArrayList<>();
+            for (Future<MockHttpServletResponse> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        }
+    }
+
+    private void assertOneCreatedRestConflict(List<MockHttpServletResponse> responses, String conflictMessage)
+            throws Exception {
+        assertEquals(1, responses.stream().filter(response -> response.getStatus() == 201).count());
+        for (MockHttpServletResponse response : responses) {
+            if (response.getStatus() != 201) {
+                assertEquals(409, response.getStatus(), response.getContentAsString());
+                assertTrue(response.getContentAsString().contains(conflictMessage), response.getContentAsString());
+            }
+        }
+    }
+}
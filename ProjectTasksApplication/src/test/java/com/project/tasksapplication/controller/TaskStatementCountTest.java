@@ -0,0 +1,170 @@
+package com.project.tasksapplication.controller;
+
+import com.project.tasksapplication.model.Project;
+import com.project.tasksapplication.model.Task;
+import com.project.tasksapplication.model.User;
+import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.TaskRepository;
+import com.project.tasksapplication.repository.UserRepository;
+import com.project.tasksapplication.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the JDBC statements Hibernate prepares for each task endpoint so that extra lazy loads or
+ * redundant ownership lookups show up as test failures.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:statement-count;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Statistics statistics;
+    private UserPrincipal owner;
+    private UserPrincipal stranger;
+    private Long projectId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User user = saveUser();
+        User other = saveUser();
+        owner = new UserPrincipal(user.getId(), user.getEmail(), null);
+        stranger = new UserPrincipal(other.getId(), other.getEmail(), null);
+
+        Project project = projectRepository.save(Project.builder().title("Project").user(user).build());
+        projectId = project.getId();
+        taskId = taskRepository.save(Task.builder().title("Task").completed(false).project(project).build()).getId();
+    }
+
+    @Test
+    void createTask() throws Exception {
+        assertStatements(3, post("/api/projects/" + projectId + "/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"New\"}"), owner, 201);
+    }
+
+    @Test
+    void createTaskWithCachedOwnership() throws Exception {
+        assertStatements(3, get("/api/projects/" + projectId + "/tasks"), owner, 200);
+        assertStatements(2, post("/api/projects/" + projectId + "/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"New\"}"), owner, 201);
+    }
+
+    @Test
+    void listTasks() throws Exception {
+        assertStatements(3, get("/api/projects/" + projectId + "/tasks"), owner, 200);
+        assertStatements(2, get("/api/projects/" + projectId + "/tasks"), owner, 200);
+    }
+
+    @Test
+    void listTasksNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/projects/" + projectId + "/tasks").with(authentication(
+                        new UsernamePasswordAuthenticationToken(owner, null, List.of()))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatements(1, get("/api/projects/" + projectId + "/tasks").header(HttpHeaders.IF_NONE_MATCH, etag), owner, 304);
+    }
+
+    @Test
+    void updateTask() throws Exception {
+        assertStatements(2, put("/api/tasks/" + taskId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\"}"), owner, 200);
+    }
+
+    @Test
+    void updateTaskStatus() throws Exception {
+        assertStatements(2, patch("/api/tasks/" + taskId + "/status").param("completed", "true"), owner, 204);
+        assertStatements(2, patch("/api/tasks/" + taskId + "/status").param("completed", "true"), owner, 204);
+        assertEquals(1, projectRepository.findById(projectId).orElseThrow().getCompletedTasks());
+    }
+
+    @Test
+    void patchTask() throws Exception {
+        assertStatements(1, patch("/api/tasks/" + taskId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\",\"dueDate\":null}"), owner, 204);
+        assertEquals("Renamed", taskRepository.findById(taskId).orElseThrow().getTitle());
+    }
+
+    @Test
+    void deleteTask() throws Exception {
+        assertStatements(4, delete("/api/tasks/" + taskId), owner, 204);
+    }
+
+    @Test
+    void rejectedMutationsOnlyProbeExistence() throws Exception {
+        assertStatements(3, patch("/api/tasks/" + taskId + "/status").param("completed", "true"), stranger, 403);
+        assertStatements(2, patch("/api/tasks/" + taskId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\"}"), stranger, 403);
+        assertStatements(2, delete("/api/tasks/" + Long.MAX_VALUE), owner, 404);
+        assertStatements(1, post("/api/projects/" + projectId + "/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"New\"}"), stranger, 403);
+    }
+
+    private void assertStatements(long expected, MockHttpServletRequestBuilder request, UserPrincipal principal,
+                                  int expectedStatus) throws Exception {
+        RequestBuilder authenticated = request.with(authentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of())));
+        statistics.clear();
+
+        mockMvc.perform(authenticated).andExpect(status().is(expectedStatus));
+
+        assertEquals(expected, statistics.getPrepareStatementCount(),
+                request.buildRequest(null).getMethod() + " " + request.buildRequest(null).getRequestURI());
+    }
+
+    private User saveUser() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .email(name + "@example.com")
+                .username(name)
+                .password("password")
+                .build());
+    }
+}
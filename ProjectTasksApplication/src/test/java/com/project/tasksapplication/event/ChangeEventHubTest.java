@@ -0,0 +1,143 @@
+package com.project.tasksapplication.event;
+
+import com.project.tasksapplication.security.AccessToken;
+import com.project.tasksapplication.security.SessionRevokedEvent;
+import com.project.tasksapplication.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ChangeEventHubTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChangeEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // the executor never drains, so every event stays in the subscriber's buffer
+        hub = new ChangeEventHub(JsonMapper.builder().build(), meterRegistry, 2, 2, Duration.ofMinutes(1),
+                mock(ExecutorService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testPublish_SlowSubscriberIsEvictedWithoutAffectingOtherUsers() {
+        // Arrange
+        subscribeAs(1L);
+        subscribeAs(2L);
+
+        // Act
+        hub.publish(ChangeEvent.task(1L, ChangeEvent.Type.CREATED, 10L, 5L));
+        hub.publish(ChangeEvent.task(1L, ChangeEvent.Type.UPDATED, 10L, 5L));
+
+        // Assert
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("app.events.evictions").count());
+    }
+
+    @Test
+    void testPublish_EventsOfOtherUsersAreNotBuffered() {
+        // Arrange
+        subscribeAs(1L);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            hub.publish(ChangeEvent.project(2L, ChangeEvent.Type.UPDATED, 7L));
+        }
+
+        // Assert
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(0.0, meterRegistry.counter("app.events.evictions").count());
+    }
+
+    @Test
+    void testSubscribe_OldestConnectionIsClosedAboveLimit() {
+        // Act
+        subscribeAs(1L);
+        subscribeAs(1L);
+        subscribeAs(1L);
+
+        // Assert
+        assertEquals(2, hub.subscriberCount());
+        assertEquals(2.0, meterRegistry.get("app.events.subscribers").gauge().value());
+    }
+
+    @Test
+    void testSubscribe_ConcurrentChurnLeavesNoUnreachableSubscribers() {
+        // Act: every subscriber overflows its buffer of 2 and is removed while others subscribe
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (ExecutorService threads = Executors.newFixedThreadPool(8)) {
+                for (int t = 0; t < 8; t++) {
+                    threads.submit(() -> {
+                        for (int i = 0; i < 500; i++) {
+                            subscribeAs(1L);
+                            for (int e = 0; e < 3; e++) {
+                                hub.publish(ChangeEvent.task(1L, ChangeEvent.Type.UPDATED, 10L, 5L));
+                            }
+                        }
+                        return null;
+                    });
+                }
+            }
+        });
+
+        // Assert
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    void testOnSessionRevoked_ClosesOnlyThatSessionsConnections() {
+        // Arrange
+        UUID revoked = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+        subscribeAs(1L, new AccessToken(revoked, expiresAt));
+        subscribeAs(1L, new AccessToken(UUID.randomUUID(), expiresAt));
+
+        // Act
+        hub.onSessionRevoked(new SessionRevokedEvent(revoked));
+
+        // Assert
+        assertEquals(1, hub.subscriberCount());
+    }
+
+    @Test
+    void testSubscribe_TimeoutEndsWithTheAccessToken() {
+        // Act
+        SseEmitter emitter = subscribeAs(1L, new AccessToken(UUID.randomUUID(), Instant.now().plusSeconds(20)));
+
+        // Assert
+        assertTrue(emitter.getTimeout() > 0 && emitter.getTimeout() <= 20_000);
+    }
+
+    private SseEmitter subscribeAs(Long userId) {
+        return subscribeAs(userId, null);
+    }
+
+    private SseEmitter subscribeAs(Long userId, AccessToken accessToken) {
+        UserPrincipal principal = new UserPrincipal(userId, "user" + userId + "@example.com", null);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, accessToken, List.of()));
+        return hub.subscribe();
+    }
+}
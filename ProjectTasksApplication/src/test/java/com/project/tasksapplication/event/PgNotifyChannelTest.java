@@ -0,0 +1,133 @@
+package com.project.tasksapplication.event;
+
+import com.project.tasksapplication.security.SessionRevokedEvent;
+import com.project.tasksapplication.security.TokenDenyList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PgNotifyChannelTest {
+
+    private static EmbeddedPostgres postgres;
+
+    private final AtomicInteger connectionsTaken = new AtomicInteger();
+    private final List<Object> publishedEvents = new CopyOnWriteArrayList<>();
+    private TokenDenyList tokenDenyList;
+    private PgNotifyChannel channel;
+    private TransactionTemplate transactionTemplate;
+    private Connection listening;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DelegatingDataSource dataSource = new DelegatingDataSource(postgres.getPostgresDatabase()) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                connectionsTaken.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+        tokenDenyList = new TokenDenyList(new SimpleMeterRegistry(), publishedEvents::add, 60_000, 100);
+        channel = new PgNotifyChannel(mock(ChangeEventHub.class), List.of(), tokenDenyList, JsonMapper.builder().build(),
+                new JdbcTemplate(dataSource), "change_events", "session_revocations",
+                postgres.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        listening = postgres.getPostgresDatabase().getConnection();
+        try (Statement statement = listening.createStatement()) {
+            statement.execute("LISTEN change_events");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listening.close();
+    }
+
+    @Test
+    void testPublish_DeliveredOnCommitOverTheTransactionConnection() throws Exception {
+        // Act
+        PGNotification[] beforeCommit = transactionTemplate.execute(status -> {
+            assertTrue(channel.publish(ChangeEvent.task(1L, ChangeEvent.Type.UPDATED, 10L, 5L)));
+            return notifications();
+        });
+        PGNotification[] afterCommit = notifications();
+
+        // Assert
+        assertEquals(0, beforeCommit.length);
+        assertEquals(1, afterCommit.length);
+        assertTrue(afterCommit[0].getParameter().contains("\"id\":10"));
+        assertEquals(1, connectionsTaken.get());
+    }
+
+    @Test
+    void testPublish_RolledBackTransactionIsNotAnnounced() throws Exception {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            channel.publish(ChangeEvent.project(1L, ChangeEvent.Type.DELETED, 7L));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals(0, notifications().length);
+    }
+
+    @Test
+    void testPublishRevocation_AppliedByListeningInstances() throws Exception {
+        // Arrange
+        UUID sessionId = UUID.randomUUID();
+        channel.start();
+        try {
+            // Act: resent until the listener thread has subscribed
+            for (int i = 0; i < 50 && !tokenDenyList.isRevoked(sessionId); i++) {
+                transactionTemplate.executeWithoutResult(status -> channel.publishRevocation(sessionId));
+                Thread.sleep(100);
+            }
+
+            // Assert
+            assertTrue(tokenDenyList.isRevoked(sessionId));
+            assertTrue(publishedEvents.contains(new SessionRevokedEvent(sessionId)));
+        } finally {
+            channel.stop();
+        }
+    }
+
+    private PGNotification[] notifications() {
+        try {
+            PGNotification[] received = listening.unwrap(PGConnection.class).getNotifications(200);
+            return received != null ? received : new PGNotification[0];
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
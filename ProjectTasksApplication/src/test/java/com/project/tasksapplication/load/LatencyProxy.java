@@ -0,0 +1,78 @@
+package com.project.tasksapplication.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * TCP proxy that holds every chunk sent by the client for a fixed delay before forwarding it, so each
+ * database round trip pays a network latency like a database on another host would. Replies are
+ * forwarded as they arrive.
+ */
+class LatencyProxy implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final String upstreamHost;
+    private final int upstreamPort;
+    private final long delayMillis;
+    // Platform threads, so the proxy keeps forwarding even when the server's virtual thread carriers are busy
+    private final ExecutorService executor = Executors.newCachedThreadPool(Thread.ofPlatform().daemon().factory());
+
+    LatencyProxy(String upstreamHost, int upstreamPort, Duration delay) throws IOException {
+        this.serverSocket = new ServerSocket(0, 1000, InetAddress.getLoopbackAddress());
+        this.upstreamHost = upstreamHost;
+        this.upstreamPort = upstreamPort;
+        this.delayMillis = delay.toMillis();
+        executor.submit(this::accept);
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private Void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                Socket upstream = new Socket(upstreamHost, upstreamPort);
+                client.setTcpNoDelay(true);
+                upstream.setTcpNoDelay(true);
+                executor.submit(() -> pump(client, upstream, delayMillis));
+                executor.submit(() -> pump(upstream, client, 0));
+            } catch (IOException ex) {
+                // closed while accepting
+            }
+        }
+        return null;
+    }
+
+    private static Void pump(Socket from, Socket to, long delayMillis) {
+        byte[] buffer = new byte[16 * 1024];
+        try (from; to) {
+            InputStream in = from.getInputStream();
+            OutputStream out = to.getOutputStream();
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        } catch (IOException | InterruptedException ex) {
+            // either side closed the connection
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+}
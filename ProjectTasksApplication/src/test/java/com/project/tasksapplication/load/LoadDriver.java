@@ -0,0 +1,140 @@
+package com.project.tasksapplication.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Minimal closed-loop HTTP load generator. Each client runs on its own virtual thread so that
+ * the driver itself is never the bottleneck, regardless of how the server under test schedules requests.
+ */
+class LoadDriver {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(60))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    HttpResponse<String> send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Runs {@code clients} concurrent clients, each issuing {@code requestsPerClient} requests built by
+     * {@code requestFactory} (the argument is the global request index).
+     */
+    LoadReport run(int clients, int requestsPerClient, IntFunction<HttpRequest> requestFactory) throws Exception {
+        return runMixed(clients, requestsPerClient, index -> new Operation("all", requestFactory.apply(index))).get("all");
+    }
+
+    /**
+     * Like {@link #run}, but each request is labelled and gets a report per label. Request {@code index}
+     * is issued by client {@code index / requestsPerClient}. Throughput per label is measured against the
+     * duration of the whole run.
+     */
+    Map<String, LoadReport> runMixed(int clients, int requestsPerClient, IntFunction<Operation> operationFactory)
+            throws Exception {
+        int total = clients * requestsPerClient;
+        long[] latencies = new long[total];
+        String[] names = new String[total];
+        boolean[] failed = new boolean[total];
+        Map<String, List<String>> sampleErrors = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                futures.add(executor.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        int index = client * requestsPerClient + r;
+                        Operation operation = operationFactory.apply(index);
+                        names[index] = operation.name();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = send(operation.request());
+                            if (response.statusCode() >= 400) {
+                                failed[index] = true;
+                                recordError(sampleErrors, operation.name(), response.statusCode() + " " + response.body());
+                            }
+                        } catch (Exception ex) {
+                            failed[index] = true;
+                            recordError(sampleErrors, operation.name(), ex.toString());
+                        }
+                        latencies[index] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, LoadReport> reports = new TreeMap<>();
+        Map<String, List<Integer>> indexesByName = new TreeMap<>();
+        for (int i = 0; i < total; i++) {
+            indexesByName.computeIfAbsent(names[i], name -> new ArrayList<>()).add(i);
+        }
+        indexesByName.forEach((name, indexes) -> {
+            long[] operationLatencies = indexes.stream().mapToLong(i -> latencies[i]).toArray();
+            int errors = (int) indexes.stream().filter(i -> failed[i]).count();
+            reports.put(name, new LoadReport(operationLatencies, elapsed, errors,
+                    List.copyOf(sampleErrors.getOrDefault(name, List.of()))));
+        });
+        return reports;
+    }
+
+    private static void recordError(Map<String, List<String>> sampleErrors, String name, String error) {
+        List<String> samples = sampleErrors.computeIfAbsent(name, key -> new ArrayList<>());
+        synchronized (samples) {
+            if (samples.size() < 5) {
+                samples.add(error);
+            }
+        }
+    }
+
+    record Operation(String name, HttpRequest request) {
+    }
+
+    record LoadReport(long[] latenciesNanos, long elapsedNanos, int errors, List<String> sampleErrors) {
+
+        LoadReport {
+            latenciesNanos = latenciesNanos.clone();
+            Arrays.sort(latenciesNanos);
+        }
+
+        int requests() {
+            return latenciesNanos.length;
+        }
+
+        double throughputPerSecond() {
+            return requests() / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(0, Math.min(index, latenciesNanos.length - 1))] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d errors=%d throughput=%.1f req/s p50=%.2fms p99=%.2fms p999=%.2fms",
+                    requests(), errors, throughputPerSecond(),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(99.9));
+        }
+    }
+}
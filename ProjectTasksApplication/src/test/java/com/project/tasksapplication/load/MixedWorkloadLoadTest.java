@@ -0,0 +1,224 @@
+package com.project.tasksapplication.load;
+
+import com.project.tasksapplication.ProjectTasksApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the whole application against an embedded PostgreSQL migrated by Flyway, seeds
+ * {@code load.users} x {@code load.projects-per-user} x {@code load.tasks-per-project} rows through the
+ * API and drives a mixed read/write workload through the security filter chain. Reports latency
+ * percentiles and throughput per endpoint and fails when an endpoint misses its latency objective.
+ * Run with {@code mvn test -Pload-test -Dtest=MixedWorkloadLoadTest}; objectives default to
+ * {@code load.slo.p99} / {@code load.slo.p999} (milliseconds) and can be overridden per endpoint,
+ * e.g. {@code -Dload.slo.search.p99=150}.
+ */
+class MixedWorkloadLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 10);
+    private static final int PROJECTS_PER_USER = Integer.getInteger("load.projects-per-user", 10);
+    private static final int TASKS_PER_PROJECT = Integer.getInteger("load.tasks-per-project", 500);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 100);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests-per-client", 100);
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final String[] SEARCH_TERMS = {"report", "invoice", "release", "review", "deploy"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadDriver driver = new LoadDriver();
+
+    @Test
+    void mixedWorkloadMeetsLatencyObjectives() throws Exception {
+        Map<String, LoadDriver.LoadReport> reports;
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectTasksApplication.class)
+                     .run(
+                             "--server.port=0",
+                             "--management.server.port=0",
+                             "--server.tomcat.accept-count=" + CLIENTS,
+                             "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                             "--spring.datasource.username=postgres",
+                             "--spring.datasource.password=postgres",
+                             "--spring.flyway.enabled=true",
+                             "--spring.jpa.show-sql=false",
+                             "--app.jwt.secret=ThisIsASecretKeyForTestingOnly1234567890",
+                             "--app.jwt.expiration-milliseconds=3600000")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+
+            List<SeededUser> users = seed(baseUrl);
+            driver.runMixed(CLIENTS, 10, index -> nextOperation(baseUrl, users, index, 10));
+            reports = driver.runMixed(CLIENTS, REQUESTS_PER_CLIENT,
+                    index -> nextOperation(baseUrl, users, index, REQUESTS_PER_CLIENT));
+        }
+
+        List<String> violations = new ArrayList<>();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        reports.forEach((name, report) -> {
+            double p99Objective = objective(name, "p99", 250);
+            double p999Objective = objective(name, "p999", 1000);
+            System.out.printf("[load] %-16s %s (slo p99<=%.0fms p999<=%.0fms)%n", name, report, p99Objective, p999Objective);
+
+            if (report.errors() > 0) {
+                violations.add(name + ": " + report.errors() + " errors, e.g. " + report.sampleErrors());
+            }
+            if (report.percentileMillis(99) > p99Objective) {
+                violations.add(String.format("%s: p99 %.2fms > %.0fms", name, report.percentileMillis(99), p99Objective));
+            }
+            if (report.percentileMillis(99.9) > p999Objective) {
+                violations.add(String.format("%s: p999 %.2fms > %.0fms", name, report.percentileMillis(99.9), p999Objective));
+            }
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requests", report.requests());
+            endpoint.put("errors", report.errors());
+            endpoint.put("throughputPerSecond", report.throughputPerSecond());
+            endpoint.put("p50Millis", report.percentileMillis(50));
+            endpoint.put("p99Millis", report.percentileMillis(99));
+            endpoint.put("p999Millis", report.percentileMillis(99.9));
+            endpoint.put("sloP99Millis", p99Objective);
+            endpoint.put("sloP999Millis", p999Objective);
+            endpoints.put(name, endpoint);
+        });
+        writeReport(endpoints);
+
+        assertTrue(violations.isEmpty(), () -> "Latency objectives missed:\n" + String.join("\n", violations));
+    }
+
+    private LoadDriver.Operation nextOperation(String baseUrl, List<SeededUser> users, int index, int requestsPerClient) {
+        SeededUser user = users.get((index / requestsPerClient) % users.size());
+        SplittableRandom random = new SplittableRandom(index);
+        long projectId = user.projectIds().get(random.nextInt(user.projectIds().size()));
+
+        int roll = random.nextInt(100);
+        if (roll < 20) {
+            return new LoadDriver.Operation("list-projects", get(baseUrl + "/api/projects", user.token()));
+        }
+        if (roll < 50) {
+            return new LoadDriver.Operation("list-tasks",
+                    get(baseUrl + "/api/projects/" + projectId + "/tasks?keyset=true&size=20", user.token()));
+        }
+        if (roll < 65) {
+            String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+            return new LoadDriver.Operation("search", get(baseUrl + "/api/projects/" + projectId
+                    + "/tasks?paginated=true&size=20&search=" + term, user.token()));
+        }
+        if (roll < 70) {
+            String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+            return new LoadDriver.Operation("search-fulltext", get(baseUrl + "/api/projects/" + projectId
+                    + "/tasks?paginated=true&size=20&mode=fulltext&search=" + term, user.token()));
+        }
+        if (roll < 90) {
+            long taskId = user.taskIds().get(random.nextInt(user.taskIds().size()));
+            return new LoadDriver.Operation("toggle", request(baseUrl + "/api/tasks/" + taskId
+                    + "/status?completed=" + random.nextBoolean(), user.token(), "PATCH", null));
+        }
+        return new LoadDriver.Operation("create", request(baseUrl + "/api/projects/" + projectId + "/tasks",
+                user.token(), "POST", "{\"title\":\"Load " + index + "\",\"description\":\"Created under load\"}"));
+    }
+
+    private List<SeededUser> seed(String baseUrl) throws Exception {
+        List<SeededUser> users = new ArrayList<>(USERS);
+        for (int u = 0; u < USERS; u++) {
+            String email = "load" + u + "@example.com";
+            post(baseUrl + "/api/auth/register", null,
+                    "{\"email\":\"" + email + "\",\"username\":\"load" + u + "\",\"password\":\"password123\"}");
+            String token = objectMapper.readTree(post(baseUrl + "/api/auth/login", null,
+                    "{\"email\":\"" + email + "\",\"password\":\"password123\"}").body()).get("token").asString();
+
+            List<Long> projectIds = new ArrayList<>(PROJECTS_PER_USER);
+            List<Long> taskIds = new ArrayList<>(PROJECTS_PER_USER * TASKS_PER_PROJECT);
+            for (int p = 0; p < PROJECTS_PER_USER; p++) {
+                long projectId = objectMapper.readTree(post(baseUrl + "/api/projects", token,
+                        "{\"title\":\"Project " + p + "\",\"description\":\"Load test project\"}").body()).get("id").asLong();
+                projectIds.add(projectId);
+                for (int from = 0; from < TASKS_PER_PROJECT; from += SEED_BATCH_SIZE) {
+                    JsonNode created = objectMapper.readTree(post(baseUrl + "/api/projects/" + projectId + "/tasks:batch",
+                            token, taskBatch(from, Math.min(TASKS_PER_PROJECT, from + SEED_BATCH_SIZE))).body());
+                    created.get("ids").forEach(id -> taskIds.add(id.asLong()));
+                }
+            }
+            users.add(new SeededUser(token, projectIds, taskIds));
+        }
+        return users;
+    }
+
+    private String taskBatch(int from, int to) {
+        StringBuilder body = new StringBuilder("{\"tasks\":[");
+        for (int t = from; t < to; t++) {
+            if (t > from) {
+                body.append(',');
+            }
+            body.append("{\"title\":\"Task ").append(t).append(' ').append(SEARCH_TERMS[t % SEARCH_TERMS.length])
+                    .append("\",\"description\":\"Seeded task ").append(t).append("\",\"completed\":")
+                    .append(t % 3 == 0).append('}');
+        }
+        return body.append("]}").toString();
+    }
+
+    private void writeReport(Map<String, Object> endpoints) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", USERS);
+        report.put("projectsPerUser", PROJECTS_PER_USER);
+        report.put("tasksPerProject", TASKS_PER_PROJECT);
+        report.put("clients", CLIENTS);
+        report.put("requestsPerClient", REQUESTS_PER_CLIENT);
+        report.put("endpoints", endpoints);
+
+        Path path = Path.of(System.getProperty("load.report", "target/load-report.json"));
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.writeString(path, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+
+    private static double objective(String endpoint, String percentile, double defaultMillis) {
+        String fallback = System.getProperty("load.slo." + percentile, String.valueOf(defaultMillis));
+        return Double.parseDouble(System.getProperty("load.slo." + endpoint + "." + percentile, fallback));
+    }
+
+    private HttpResponse<String> post(String url, String token, String body) throws Exception {
+        HttpResponse<String> response = driver.send(request(url, token, "POST", body));
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Seeding " + url + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+
+    private static HttpRequest request(String url, String token, String method, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .version(HttpClient.Version.HTTP_1_1)
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return request(url, token, "GET", null);
+    }
+
+    private record SeededUser(String token, List<Long> projectIds, List<Long> taskIds) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.project.tasksapplication.load;
+
+import com.project.tasksapplication.ProjectTasksApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the same read-heavy workload against the application with platform request threads and
+ * with virtual request threads. Each mode boots against its own embedded PostgreSQL migrated by Flyway,
+ * reached through a {@link LatencyProxy} that adds {@code load.db-latency} milliseconds to every round
+ * trip, so requests spend their time blocked on the database the way they do in production. The
+ * connection pool ({@code load.db-connections}) is larger than the platform request thread pool
+ * ({@code load.platform-threads}), which leaves the thread model as the only difference between the
+ * runs. The limiter's acquire timeout is lifted so neither mode sheds load while queueing. The defaults
+ * fit a single-core CI machine, where anything short of a slow database leaves both runs CPU bound.
+ * Writes both reports to {@code target/virtual-thread-report.json} and fails when virtual threads
+ * deliver less than {@code load.min-throughput-ratio} times the platform throughput. Run with
+ * {@code mvn test -Pload-test -Dtest=VirtualThreadLoadTest}.
+ */
+class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests-per-client", 5);
+    private static final int PLATFORM_THREADS = Integer.getInteger("load.platform-threads", 10);
+    private static final int DB_CONNECTIONS = Integer.getInteger("load.db-connections", 50);
+    private static final Duration DB_LATENCY = Duration.ofMillis(Integer.getInteger("load.db-latency", 50));
+    private static final double MIN_THROUGHPUT_RATIO =
+            Double.parseDouble(System.getProperty("load.min-throughput-ratio", "1.0"));
+    private static final int PROJECTS = 20;
+    private static final int TASKS_PER_PROJECT = 25;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadDriver driver = new LoadDriver();
+
+    @Test
+    void virtualThreadsKeepUpWithPlatformThreads() throws Exception {
+        LoadDriver.LoadReport platform = runWorkload(false);
+        LoadDriver.LoadReport virtual = runWorkload(true);
+        double ratio = virtual.throughputPerSecond() / platform.throughputPerSecond();
+        writeReport(Map.of("platform", platform, "virtual", virtual), ratio);
+
+        assertEquals(0, platform.errors(), () -> "platform mode errors: " + platform.sampleErrors());
+        assertEquals(0, virtual.errors(), () -> "virtual mode errors: " + virtual.sampleErrors());
+        assertTrue(ratio >= MIN_THROUGHPUT_RATIO, () -> String.format(
+                "virtual threads reached %.2fx the platform throughput, expected at least %.2fx%n platform: %s%n virtual:  %s",
+                ratio, MIN_THROUGHPUT_RATIO, platform, virtual));
+    }
+
+    private LoadDriver.LoadReport runWorkload(boolean virtualThreads) throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                     .setServerConfig("max_connections", String.valueOf(DB_CONNECTIONS + 20))
+                     .start();
+             LatencyProxy proxy = new LatencyProxy("localhost", postgres.getPort(), DB_LATENCY);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectTasksApplication.class)
+                     .run(
+                             "--server.port=0",
+                             "--management.server.port=0",
+                             "--server.tomcat.accept-count=" + CLIENTS,
+                             "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                             "--spring.threads.virtual.enabled=" + virtualThreads,
+                             "--spring.datasource.url=jdbc:postgresql://localhost:" + proxy.getPort()
+                                     + "/postgres?reWriteBatchedInserts=true",
+                             "--spring.datasource.username=postgres",
+                             "--spring.datasource.password=postgres",
+                             "--spring.datasource.hikari.maximum-pool-size=" + DB_CONNECTIONS,
+                             "--app.datasource.concurrency-limit.max-concurrent=" + DB_CONNECTIONS,
+                             "--app.datasource.concurrency-limit.acquire-timeout=5m",
+                             "--spring.flyway.enabled=true",
+                             "--spring.jpa.show-sql=false",
+                             "--app.jwt.secret=ThisIsASecretKeyForTestingOnly1234567890",
+                             "--app.jwt.expiration-milliseconds=3600000")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+
+            String token = seed(baseUrl);
+            List<Long> projectIds = projectIds(baseUrl, token);
+
+            warmUp(baseUrl, token, projectIds);
+            return driver.run(CLIENTS, REQUESTS_PER_CLIENT, index -> {
+                String path = index % 4 == 0
+                        ? "/api/projects?keyset=true&size=10"
+                        : "/api/projects/" + projectIds.get(index % projectIds.size()) + "/tasks?keyset=true&size=20";
+                return get(baseUrl + path, token);
+            });
+        }
+    }
+
+    private String seed(String baseUrl) throws Exception {
+        post(baseUrl + "/api/auth/register", null,
+                "{\"email\":\"load@example.com\",\"username\":\"loaduser\",\"password\":\"password123\"}");
+        HttpResponse<String> login = post(baseUrl + "/api/auth/login", null,
+                "{\"email\":\"load@example.com\",\"password\":\"password123\"}");
+        String token = objectMapper.readTree(login.body()).get("token").asString();
+
+        for (int p = 0; p < PROJECTS; p++) {
+            HttpResponse<String> project = post(baseUrl + "/api/projects", token,
+                    "{\"title\":\"Project " + p + "\",\"description\":\"Load test project\"}");
+            long projectId = objectMapper.readTree(project.body()).get("id").asLong();
+            StringBuilder tasks = new StringBuilder("{\"tasks\":[");
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                tasks.append(t > 0 ? "," : "").append("{\"title\":\"Task ").append(t)
+                        .append("\",\"description\":\"Load test task\"}");
+            }
+            post(baseUrl + "/api/projects/" + projectId + "/tasks:batch", token, tasks.append("]}").toString());
+        }
+        return token;
+    }
+
+    private List<Long> projectIds(String baseUrl, String token) throws Exception {
+        JsonNode projects = objectMapper.readTree(driver.send(get(baseUrl + "/api/projects", token)).body());
+        List<Long> ids = new ArrayList<>();
+        projects.forEach(project -> ids.add(project.get("id").asLong()));
+        return ids;
+    }
+
+    private void warmUp(String baseUrl, String token, List<Long> projectIds) throws Exception {
+        driver.run(50, 20, index ->
+                get(baseUrl + "/api/projects/" + projectIds.get(index % projectIds.size()) + "/tasks?keyset=true", token));
+    }
+
+    private void writeReport(Map<String, LoadDriver.LoadReport> reports, double ratio) throws Exception {
+        Map<String, Object> modes = new LinkedHashMap<>();
+        for (String mode : List.of("platform", "virtual")) {
+            LoadDriver.LoadReport report = reports.get(mode);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", report.requests());
+            result.put("errors", report.errors());
+            result.put("throughputPerSecond", report.throughputPerSecond());
+            result.put("p50Millis", report.percentileMillis(50));
+            result.put("p99Millis", report.percentileMillis(99));
+            result.put("p999Millis", report.percentileMillis(99.9));
+            modes.put(mode, result);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", CLIENTS);
+        report.put("requestsPerClient", REQUESTS_PER_CLIENT);
+        report.put("platformThreads", PLATFORM_THREADS);
+        report.put("dbConnections", DB_CONNECTIONS);
+        report.put("dbLatencyMillis", DB_LATENCY.toMillis());
+        report.put("modes", modes);
+        report.put("throughputRatio", ratio);
+        report.put("minThroughputRatio", MIN_THROUGHPUT_RATIO);
+
+        Path path = Path.of(System.getProperty("load.report", "target/virtual-thread-report.json"));
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.writeString(path, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+
+    private HttpResponse<String> post(String url, String token, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = driver.send(builder.build());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Seeding " + url + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+}
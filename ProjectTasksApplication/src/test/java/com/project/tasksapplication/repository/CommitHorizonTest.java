@@ -0,0 +1,89 @@
+package com.project.tasksapplication.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays the change feed's read pattern against PostgreSQL while a writer holds its transaction open
+ * for longer than the old fixed commit window.
+ */
+class CommitHorizonTest {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static EmbeddedPostgres postgres;
+
+    private JdbcTemplate jdbcTemplate;
+    private CommitHorizon commitHorizon;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS feed (id SERIAL PRIMARY KEY, updated_at TIMESTAMP NOT NULL)");
+        commitHorizon = new CommitHorizon(jdbcTemplate, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void slowCommitIsNotSkippedByTheWatermark() throws Exception {
+        LocalDateTime stamped;
+        LocalDateTime before;
+        try (Connection writer = postgres.getPostgresDatabase().getConnection()) {
+            writer.setAutoCommit(false);
+            JdbcTemplate writing = new JdbcTemplate(new SingleConnectionDataSource(writer, true));
+            stamped = writing.queryForObject(
+                    "INSERT INTO feed (updated_at) VALUES (LOCALTIMESTAMP) RETURNING updated_at", LocalDateTime.class);
+            Thread.sleep(2_500);
+
+            before = commitHorizon.current();
+            assertFalse(before.isAfter(stamped), "horizon " + before + " passed open write " + stamped);
+            assertTrue(changedBetween(ORIGIN, before).isEmpty());
+
+            writer.commit();
+        }
+
+        LocalDateTime after = commitHorizon.current();
+        assertTrue(after.isAfter(stamped));
+        assertEquals(List.of(stamped), changedBetween(before, after));
+    }
+
+    @Test
+    void excludedTransactionDoesNotHoldTheHorizonBack() throws Exception {
+        try (Connection exporter = postgres.getPostgresDatabase().getConnection()) {
+            exporter.setAutoCommit(false);
+            JdbcTemplate exporting = new JdbcTemplate(new SingleConnectionDataSource(exporter, true));
+            LocalDateTime started = exporting.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+            new CommitHorizon(exporting, Duration.ofSeconds(2)).excludeCurrentTransaction();
+            Thread.sleep(50);
+
+            assertTrue(commitHorizon.current().isAfter(started));
+            exporter.rollback();
+        }
+    }
+
+    private List<LocalDateTime> changedBetween(LocalDateTime from, LocalDateTime upTo) {
+        return jdbcTemplate.queryForList("SELECT updated_at FROM feed WHERE updated_at >= ? AND updated_at < ?",
+                LocalDateTime.class, from, upTo);
+    }
+}
@@ -0,0 +1,614 @@
+package com.project.tasksapplication.repository;
+
+import com.project.tasksapplication.model.Project;
+import com.project.tasksapplication.model.Task;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every repository access path against an embedded PostgreSQL migrated by Flyway,
+ * EXPLAINs the statements it issued, with their bound values and as generic plans,
+ * and fails on sequential scans of large tables.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "app.jwt.secret=ThisIsASecretKeyForTestingOnly1234567890",
+        "app.jwt.expiration-milliseconds=3600000"
+})
+class RepositoryQueryPlanTest {
+
+    private static final long SEQ_SCAN_ROW_THRESHOLD = 1_000;
+    private static final int USERS = 2_000;
+    private static final int PROJECTS_PER_USER = 5;
+    private static final int TASKS_PER_PROJECT = 20;
+    private static final int DEEP_ROWS = 20_000;
+    private static final int DEEP_OFFSET = 19_000;
+    private static final long FILTERED_ROW_THRESHOLD = 100;
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+    private static final Pattern ROWS_REMOVED = Pattern.compile("Rows Removed by Filter: (\\d+)");
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres, StatementRecorder statementRecorder) {
+            return statementRecorder.wrap(embeddedPostgres.getPostgresDatabase(Map.of("reWriteBatchedInserts", "true")));
+        }
+    }
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private ProjectTombstoneRepository projectTombstoneRepository;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate jdbcTemplate;
+    private Long userId;
+    private Long projectId;
+    private Task task;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class) == 0) {
+            jdbcTemplate.update("INSERT INTO users (email, username, password, created_at, updated_at) " +
+                    "SELECT 'user' || g || '@example.com', 'user' || g, 'x', now(), now() FROM generate_series(1, ?) g", USERS);
+            jdbcTemplate.update("INSERT INTO projects (title, description, user_id, created_at, updated_at) " +
+                    "SELECT 'Project ' || g, 'Description ' || g, u.id, now() - (g || ' minutes')::interval, now() " +
+                    "FROM users u CROSS JOIN generate_series(1, ?) g", PROJECTS_PER_USER);
+            jdbcTemplate.update("INSERT INTO tasks (title, description, completed, project_id, created_at, updated_at) " +
+                    "SELECT 'Task ' || g || ' alpha', 'Body ' || g, g % 3 = 0, p.id, now() - (g || ' seconds')::interval, now() " +
+                    "FROM projects p CROSS JOIN generate_series(1, ?) g", TASKS_PER_PROJECT);
+            jdbcTemplate.update("INSERT INTO users (email, username, password, created_at, updated_at) " +
+                    "VALUES ('deep@example.com', 'deep', 'x', now(), now())");
+            jdbcTemplate.update("INSERT INTO projects (title, description, user_id, created_at, updated_at) " +
+                    "SELECT 'Deep ' || g, 'Description ' || g, u.id, now() - (g || ' seconds')::interval, now() " +
+                    "FROM users u CROSS JOIN generate_series(1, ?) g WHERE u.email = 'deep@example.com'", DEEP_ROWS);
+            jdbcTemplate.update("INSERT INTO tasks (title, description, completed, project_id, created_at, updated_at) " +
+                    "SELECT 'Deep ' || g, 'Body ' || g, g % 3 = 0, p.id, now() - ((g / 2) || ' seconds')::interval, " +
+                    "now() - ((g / 2) || ' seconds')::interval FROM projects p CROSS JOIN generate_series(1, ?) g " +
+                    "WHERE p.title = 'Deep 1'", DEEP_ROWS);
+            jdbcTemplate.update("INSERT INTO task_tombstones (task_id, project_id, deleted_at) " +
+                    "SELECT 1000000000 + g, p.id, now() - ((g / 2) || ' seconds')::interval " +
+                    "FROM projects p CROSS JOIN generate_series(1, ?) g WHERE p.title = 'Deep 1'", DEEP_ROWS);
+            jdbcTemplate.update("INSERT INTO project_tombstones (project_id, user_id, deleted_at) " +
+                    "SELECT 1000000000 + g, u.id, now() - ((g / 2) || ' seconds')::interval " +
+                    "FROM users u CROSS JOIN generate_series(1, ?) g WHERE u.email = 'deep@example.com'", DEEP_ROWS);
+            // one tombstone per regular project and user, so generic plans see the tables spread over many parents
+            jdbcTemplate.update("INSERT INTO task_tombstones (task_id, project_id, deleted_at) " +
+                    "SELECT 2000000000 + p.id, p.id, now() FROM projects p WHERE p.title NOT LIKE 'Deep %'");
+            jdbcTemplate.update("INSERT INTO project_tombstones (project_id, user_id, deleted_at) " +
+                    "SELECT 2000000000 + u.id, u.id, now() FROM users u WHERE u.email <> 'deep@example.com'");
+            jdbcTemplate.update("INSERT INTO refresh_tokens (token_hash, family_id, user_id, expires_at, created_at) " +
+                    "SELECT md5('a' || u.id) || md5('b' || u.id), md5('f' || u.id)::uuid, u.id, " +
+                    "now() + (u.id || ' minutes')::interval, now() FROM users u");
+            jdbcTemplate.execute("ANALYZE");
+        }
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'user1@example.com'", Long.class);
+        projectId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM projects WHERE user_id = ?", Long.class, userId);
+        task = taskRepository.findFirstKeysetPage(projectId, null, Limit.of(1)).get(0);
+        statementRecorder.clear();
+    }
+
+    @Test
+    void projectRepositoryQueriesUseIndexes() {
+        assertIndexed("findByUserId", () -> projectRepository.findByUserId(userId));
+        assertIndexed("findByUserId(page)", () -> projectRepository.findByUserId(userId, PageRequest.of(1, 5)));
+        assertIndexed("findByIdAndUserId", () -> projectRepository.findByIdAndUserId(projectId, userId));
+        assertIndexed("findOwnerIdById", () -> projectRepository.findOwnerIdById(projectId));
+        assertIndexed("findSummariesByUserId", () -> projectRepository.findSummariesByUserId(userId));
+        assertIndexed("findSummariesByUserId(page)", () -> projectRepository.findSummariesByUserId(userId, PageRequest.of(1, 5)));
+        assertIndexed("findFirstKeysetPage", () -> projectRepository.findFirstKeysetPage(userId, Limit.of(5)));
+        assertIndexed("findKeysetPageAfter", () ->
+                projectRepository.findKeysetPageAfter(userId, LocalDateTime.now(), Long.MAX_VALUE, Limit.of(5)));
+        assertIndexed("countByUserId", () -> projectRepository.countByUserId(userId));
+        assertIndexed("findProjectsFingerprint", () -> projectRepository.findProjectsFingerprint(userId));
+        assertIndexed("findChangedSummariesAfter", () -> projectRepository.findChangedSummariesAfter(
+                userId, LocalDateTime.now().minusDays(1), 0L, LocalDateTime.now(), Limit.of(100)));
+        assertIndexed("findTasksFingerprint", () -> projectRepository.findTasksFingerprint(projectId, userId));
+        assertIndexed("adjustTaskCounters", () -> transactionTemplate.executeWithoutResult(status -> {
+            projectRepository.adjustTaskCounters(projectId, 0, 0);
+            status.setRollbackOnly();
+        }));
+        assertIndexed("adjustCompletedTasksForTask", () -> transactionTemplate.executeWithoutResult(status -> {
+            projectRepository.adjustCompletedTasksForTask(task.getId(), 0);
+            status.setRollbackOnly();
+        }));
+        assertIndexed("recomputeTaskCounters", () -> transactionTemplate.executeWithoutResult(status -> {
+            projectRepository.lockById(projectId);
+            projectRepository.recomputeTaskCounters(projectId);
+            status.setRollbackOnly();
+        }));
+        assertIndexed("delete (cascade)", () -> transactionTemplate.executeWithoutResult(status -> {
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            projectRepository.delete(project);
+            projectRepository.flush();
+            status.setRollbackOnly();
+        }));
+    }
+
+    @Test
+    void taskRepositoryQueriesUseIndexes() {
+        assertIndexed("findByProjectId", () -> taskRepository.findByProjectId(projectId));
+        assertIndexed("findByProjectId(page)", () -> taskRepository.findByProjectId(projectId, PageRequest.of(1, 10)));
+        assertIndexed("findByProjectIdWithFilters", () ->
+                taskRepository.findByProjectIdWithFilters(projectId, null, PageRequest.of(2, 10)));
+        assertIndexed("findByProjectIdWithFilters(open)", () ->
+                taskRepository.findByProjectIdWithFilters(projectId, false, PageRequest.of(0, 10)));
+        assertIndexed("findByProjectIdSubstring", () ->
+                taskRepository.findByProjectIdSubstring(projectId, "alpha", null, PageRequest.of(0, 10)));
+        assertIndexed("findByProjectIdFullText", () ->
+                taskRepository.findByProjectIdFullText(projectId, "alpha", true, PageRequest.of(0, 10)));
+        assertIndexed("findFirstKeysetPage", () -> taskRepository.findFirstKeysetPage(projectId, false, Limit.of(10)));
+        assertIndexed("findKeysetPageAfter", () ->
+                taskRepository.findKeysetPageAfter(projectId, null, task.getCreatedAt(), task.getId(), Limit.of(10)));
+        assertIndexed("findChangedAfter", () -> taskRepository.findChangedAfter(
+                projectId, LocalDateTime.now().minusDays(1), 0L, LocalDateTime.now(), Limit.of(100)));
+        assertIndexed("findByIdAndProjectId", () -> taskRepository.findByIdAndProjectId(task.getId(), projectId));
+        assertIndexed("findByIdAndOwnerId", () -> taskRepository.findByIdAndOwnerId(task.getId(), userId));
+        assertIndexed("findVersionByIdAndOwnerId", () -> taskRepository.findVersionByIdAndOwnerId(task.getId(), userId));
+        assertIndexed("updateCompletedIfOwned", () -> transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.updateCompletedIfOwned(task.getId(), userId, !task.isCompleted(), null);
+            status.setRollbackOnly();
+        }));
+        assertIndexed("updateCompletedIfOwned(version)", () -> transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.updateCompletedIfOwned(task.getId(), userId, !task.isCompleted(), task.getVersion());
+            status.setRollbackOnly();
+        }));
+        assertIndexed("updateFieldsIfOwned", () -> transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.updateFieldsIfOwned(task.getId(), userId, null, Map.of("title", "Renamed"));
+            status.setRollbackOnly();
+        }));
+        assertIndexed("updateFieldsIfOwned(version)", () -> transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.updateFieldsIfOwned(task.getId(), userId, task.getVersion(), Map.of("title", "Renamed"));
+            status.setRollbackOnly();
+        }));
+        assertIndexed("countByProjectId", () -> taskRepository.countByProjectId(projectId));
+        assertIndexed("countByProjectIdAndCompleted", () -> taskRepository.countByProjectIdAndCompleted(projectId, true));
+    }
+
+    @Test
+    void deepKeysetPagesSeekToTheCursor() {
+        Long deepUserId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'deep@example.com'", Long.class);
+        Long deepProjectId = jdbcTemplate.queryForObject("SELECT id FROM projects WHERE title = 'Deep 1'", Long.class);
+        Map<String, Object> taskCursor = jdbcTemplate.queryForMap("SELECT created_at, id FROM tasks WHERE project_id = ? " +
+                "ORDER BY created_at DESC, id DESC OFFSET ? LIMIT 1", deepProjectId, DEEP_OFFSET);
+        Map<String, Object> projectCursor = jdbcTemplate.queryForMap("SELECT created_at, id FROM projects WHERE user_id = ? " +
+                "ORDER BY created_at DESC, id DESC OFFSET ? LIMIT 1", deepUserId, DEEP_OFFSET);
+
+        assertSeeks("tasks.findKeysetPageAfter", "ROW(created_at, id)", () -> taskRepository.findKeysetPageAfter(
+                deepProjectId, null, timestamp(taskCursor, "created_at"), (Long) taskCursor.get("id"), Limit.of(11)));
+        assertSeeks("tasks.findKeysetPageAfter(open)", "ROW(created_at, id)", () -> taskRepository.findKeysetPageAfter(
+                deepProjectId, false, timestamp(taskCursor, "created_at"), (Long) taskCursor.get("id"), Limit.of(11)));
+        assertSeeks("projects.findKeysetPageAfter", "ROW(created_at, id)", () -> projectRepository.findKeysetPageAfter(
+                deepUserId, timestamp(projectCursor, "created_at"), (Long) projectCursor.get("id"), Limit.of(11)));
+    }
+
+    @Test
+    void deepChangeFeedPagesSeekToTheWatermark() {
+        Long deepUserId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'deep@example.com'", Long.class);
+        Long deepProjectId = jdbcTemplate.queryForObject("SELECT id FROM projects WHERE title = 'Deep 1'", Long.class);
+        Map<String, Object> taskWatermark = jdbcTemplate.queryForMap("SELECT updated_at, id FROM tasks WHERE project_id = ? " +
+                "ORDER BY updated_at, id OFFSET ? LIMIT 1", deepProjectId, DEEP_OFFSET);
+        Map<String, Object> projectWatermark = jdbcTemplate.queryForMap("SELECT updated_at, id FROM projects WHERE user_id = ? " +
+                "ORDER BY updated_at, id OFFSET ? LIMIT 1", deepUserId, DEEP_OFFSET);
+        Map<String, Object> taskTombstone = jdbcTemplate.queryForMap("SELECT deleted_at, task_id FROM task_tombstones " +
+                "WHERE project_id = ? ORDER BY deleted_at, task_id OFFSET ? LIMIT 1", deepProjectId, DEEP_OFFSET);
+        Map<String, Object> projectTombstone = jdbcTemplate.queryForMap("SELECT deleted_at, project_id FROM project_tombstones " +
+                "WHERE user_id = ? ORDER BY deleted_at, project_id OFFSET ? LIMIT 1", deepUserId, DEEP_OFFSET);
+        LocalDateTime upTo = LocalDateTime.now().plusMinutes(1);
+
+        assertSeeks("tasks.findChangedAfter", "ROW(updated_at, id)", () -> taskRepository.findChangedAfter(deepProjectId,
+                timestamp(taskWatermark, "updated_at"), (Long) taskWatermark.get("id"), upTo, Limit.of(11)));
+        assertSeeks("projects.findChangedSummariesAfter", "ROW(updated_at, id)", () -> projectRepository.findChangedSummariesAfter(
+                deepUserId, timestamp(projectWatermark, "updated_at"), (Long) projectWatermark.get("id"), upTo, Limit.of(11)));
+        assertSeeks("taskTombstones.findDeletedAfter", "ROW(deleted_at, task_id)", () -> taskTombstoneRepository.findDeletedAfter(
+                deepProjectId, timestamp(taskTombstone, "deleted_at"), (Long) taskTombstone.get("task_id"), upTo, Limit.of(11)));
+        assertSeeks("projectTombstones.findDeletedAfter", "ROW(deleted_at, project_id)", () -> projectTombstoneRepository.findDeletedAfter(
+                deepUserId, timestamp(projectTombstone, "deleted_at"), (Long) projectTombstone.get("project_id"), upTo, Limit.of(11)));
+    }
+
+    @Test
+    void taskJdbcRepositoryStatementsUseIndexes() {
+        List<Long> ids = List.of(task.getId(), task.getId() + 1, task.getId() + 2);
+        assertIndexed("updateCompleted", () -> transactionTemplate.executeWithoutResult(status -> {
+            taskJdbcRepository.updateCompleted(projectId, ids, true);
+            status.setRollbackOnly();
+        }));
+        assertIndexed("streamByProjectId", () -> transactionTemplate.executeWithoutResult(status ->
+                taskJdbcRepository.streamByProjectId(projectId, null, false, streamed -> { })));
+        assertIndexed("streamByProjectId(search)", () -> transactionTemplate.executeWithoutResult(status ->
+                taskJdbcRepository.streamByProjectId(projectId, "alpha", null, streamed -> { })));
+        assertIndexed("deleteWithTombstones", () -> transactionTemplate.executeWithoutResult(status -> {
+            TaskJdbcRepository.Deletion deletion = taskJdbcRepository.deleteWithTombstones(projectId, ids);
+            Integer tombstones = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM task_tombstones WHERE project_id = ? AND task_id = ?", Integer.class, projectId, task.getId());
+            assertTrue(deletion.deleted() >= 1);
+            assertEquals(1, tombstones);
+            status.setRollbackOnly();
+        }));
+    }
+
+    @Test
+    void substringSearchRanksCloserTitlesFirst() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO tasks (title, description, completed, project_id, created_at, updated_at) " +
+                    "VALUES ('Renamed 15 alpha', 'Body', FALSE, ?, now(), now())", projectId);
+
+            List<Task> found = taskRepository.findByProjectIdSubstring(projectId, "5 alpha", null, PageRequest.of(0, 10)).getContent();
+
+            assertEquals(List.of("Task 5 alpha", "Renamed 15 alpha", "Task 15 alpha"), found.stream().map(Task::getTitle).toList());
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void tombstoneRepositoryQueriesUseIndexes() {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        assertIndexed("taskTombstones.findDeletedAfter", () ->
+                taskTombstoneRepository.findDeletedAfter(projectId, since, 0L, LocalDateTime.now(), Limit.of(100)));
+        assertIndexed("projectTombstones.findDeletedAfter", () ->
+                projectTombstoneRepository.findDeletedAfter(userId, since, 0L, LocalDateTime.now(), Limit.of(100)));
+        assertIndexed("taskTombstones.deleteAllByProjectId", () -> transactionTemplate.executeWithoutResult(status -> {
+            taskTombstoneRepository.deleteAllByProjectId(projectId);
+            status.setRollbackOnly();
+        }));
+    }
+
+    @Test
+    void taskJdbcRepositoryBatchInsertReturnsIdsInOrder() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            tasks.add(Task.builder().title("Batch " + i).completed(false).build());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = taskJdbcRepository.batchInsert(projectId, tasks);
+            assertEquals(tasks.size(), ids.size());
+            assertEquals("Batch 0", jdbcTemplate.queryForObject("SELECT title FROM tasks WHERE id = ?", String.class, ids.get(0)));
+            assertEquals("Batch 1199", jdbcTemplate.queryForObject("SELECT title FROM tasks WHERE id = ?", String.class, ids.get(1_199)));
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void userRepositoryQueriesUseIndexes() {
+        assertIndexed("findByEmail", () -> userRepository.findByEmail("user7@example.com"));
+        assertIndexed("updatePassword", () -> transactionTemplate.executeWithoutResult(status -> {
+            userRepository.updatePassword("user7@example.com", "rehashed");
+            status.setRollbackOnly();
+        }));
+    }
+
+    @Test
+    void refreshTokenRepositoryQueriesUseIndexes() {
+        String tokenHash = jdbcTemplate.queryForObject("SELECT token_hash FROM refresh_tokens WHERE user_id = ?", String.class, userId);
+        UUID familyId = jdbcTemplate.queryForObject("SELECT family_id FROM refresh_tokens WHERE user_id = ?", UUID.class, userId);
+        assertIndexed("findWithUserByTokenHash", () -> refreshTokenRepository.findWithUserByTokenHash(tokenHash));
+        assertIndexed("markUsed", () -> transactionTemplate.executeWithoutResult(status -> {
+            refreshTokenRepository.markUsed(tokenHash, LocalDateTime.now());
+            status.setRollbackOnly();
+        }));
+        assertIndexed("revokeFamily", () -> transactionTemplate.executeWithoutResult(status -> {
+            refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now());
+            status.setRollbackOnly();
+        }));
+        assertIndexed("deleteExpiredBefore", () -> transactionTemplate.executeWithoutResult(status -> {
+            refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+            status.setRollbackOnly();
+        }));
+    }
+
+    private void assertIndexed(String name, Runnable call) {
+        statementRecorder.clear();
+        call.run();
+        List<StatementRecorder.Recorded> statements = statementRecorder.drain();
+        assertFalse(statements.isEmpty(), name + " issued no statements");
+
+        for (StatementRecorder.Recorded statement : statements) {
+            for (String plan : List.of(explain(statement), explainGeneric(statement))) {
+                Matcher matcher = SEQ_SCAN.matcher(plan);
+                while (matcher.find()) {
+                    String table = matcher.group(1);
+                    long rows = estimatedRows(table);
+                    assertTrue(rows <= SEQ_SCAN_ROW_THRESHOLD,
+                            name + " sequentially scans " + table + " (~" + rows + " rows):\n"
+                                    + statement.sql() + "\n" + plan);
+                }
+            }
+        }
+    }
+
+    /**
+     * A keyset or change feed page must start reading at its position: the index scan seeks on the row
+     * comparison and may only discard a handful of rows, however deep the page is.
+     */
+    private void assertSeeks(String name, String rowKey, Runnable call) {
+        statementRecorder.clear();
+        call.run();
+        List<StatementRecorder.Recorded> statements = statementRecorder.drain();
+        assertFalse(statements.isEmpty(), name + " issued no statements");
+
+        for (StatementRecorder.Recorded statement : statements) {
+            String plan = explain("EXPLAIN (ANALYZE) ", statement);
+            assertTrue(plan.contains("Index Cond") && plan.contains(rowKey),
+                    name + " does not seek by " + rowKey + ":\n" + statement.sql() + "\n" + plan);
+            Matcher matcher = ROWS_REMOVED.matcher(plan);
+            while (matcher.find()) {
+                long removed = Long.parseLong(matcher.group(1));
+                assertTrue(removed <= FILTERED_ROW_THRESHOLD,
+                        name + " filters " + removed + " rows before the cursor:\n" + statement.sql() + "\n" + plan);
+            }
+        }
+    }
+
+    private static LocalDateTime timestamp(Map<String, Object> row, String column) {
+        return ((Timestamp) row.get(column)).toLocalDateTime();
+    }
+
+    private String explain(StatementRecorder.Recorded statement) {
+        return explain("EXPLAIN ", statement);
+    }
+
+    private String explain(String prefix, StatementRecorder.Recorded statement) {
+        try (Connection connection = statementRecorder.unwrapped().getConnection();
+             PreparedStatement explain = connection.prepareStatement(prefix + statement.sql())) {
+            for (StatementRecorder.Binding binding : statement.bindings()) {
+                binding.method().invoke(explain, binding.args());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = explain.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } catch (SQLException | IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Could not explain: " + statement.sql(), ex);
+        }
+    }
+
+    /**
+     * Plans the statement the way a cached prepared statement is planned once PostgreSQL switches to a
+     * generic plan: the planner cannot see the parameter values, so a guard like "(:search IS NULL OR ...)"
+     * is not folded away as it is when EXPLAIN is given the bound values.
+     */
+    private String explainGeneric(StatementRecorder.Recorded statement) {
+        int count = statement.bindings().stream().mapToInt(binding -> (Integer) binding.args()[0]).max().orElse(0);
+        String[] types = new String[count];
+        String[] values = new String[count];
+        Arrays.fill(types, "unknown");
+        Arrays.fill(values, "NULL");
+        for (StatementRecorder.Binding binding : statement.bindings()) {
+            int index = (Integer) binding.args()[0] - 1;
+            types[index] = parameterType(binding);
+            values[index] = parameterLiteral(binding);
+        }
+        try (Connection connection = statementRecorder.unwrapped().getConnection();
+             Statement explain = connection.createStatement()) {
+            explain.execute("SET plan_cache_mode = force_generic_plan");
+            explain.execute("PREPARE generic_plan" + (types.length == 0 ? "" : "(" + String.join(", ", types) + ")")
+                    + " AS " + numberParameters(statement.sql()));
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = explain.executeQuery("EXPLAIN EXECUTE generic_plan"
+                    + (values.length == 0 ? "" : "(" + String.join(", ", values) + ")"))) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not explain generic plan: " + statement.sql(), ex);
+        }
+    }
+
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        boolean quoted = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static String parameterLiteral(StatementRecorder.Binding binding) {
+        Object value = binding.args()[1];
+        if (binding.method().getName().equals("setNull") || value == null) {
+            return "NULL";
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    private static String parameterType(StatementRecorder.Binding binding) {
+        Object[] args = binding.args();
+        if (binding.method().getName().equals("setNull")) {
+            return switch ((Integer) args[1]) {
+                case Types.BIGINT -> "bigint";
+                case Types.INTEGER -> "integer";
+                case Types.BOOLEAN, Types.BIT -> "boolean";
+                case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR -> "text";
+                case Types.TIMESTAMP -> "timestamp";
+                default -> "unknown";
+            };
+        }
+        return switch (args[1]) {
+            case Long value -> "bigint";
+            case Integer value -> "integer";
+            case Boolean value -> "boolean";
+            case String value -> "text";
+            case Timestamp value -> "timestamp";
+            case LocalDateTime value -> "timestamp";
+            case UUID value -> "uuid";
+            case null, default -> "unknown";
+        };
+    }
+
+    private long estimatedRows(String table) {
+        Double reltuples = jdbcTemplate.queryForObject(
+                "SELECT reltuples FROM pg_class WHERE relname = ?", Double.class, table);
+        return reltuples == null ? 0 : reltuples.longValue();
+    }
+
+    /**
+     * Records the SQL and parameter bindings of every statement executed through the wrapped data source
+     * so that it can be replayed under EXPLAIN.
+     */
+    static class StatementRecorder {
+
+        record Binding(Method method, Object[] args) {
+        }
+
+        record Recorded(String sql, List<Binding> bindings) {
+        }
+
+        private final List<Recorded> recorded = new CopyOnWriteArrayList<>();
+        private DataSource target;
+
+        DataSource wrap(DataSource dataSource) {
+            this.target = dataSource;
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return proxyConnection(super.getConnection());
+                }
+            };
+        }
+
+        DataSource unwrapped() {
+            return target;
+        }
+
+        void clear() {
+            recorded.clear();
+        }
+
+        List<Recorded> drain() {
+            List<Recorded> statements = new ArrayList<>(recorded);
+            recorded.clear();
+            return statements;
+        }
+
+        private Connection proxyConnection(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement") && args != null && args[0] instanceof String sql) {
+                            return proxyStatement((PreparedStatement) result, sql);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement proxyStatement(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            bindings.add(new Binding(method, args));
+                        } else if (name.startsWith("execute") && isExplainable(sql)) {
+                            recorded.add(new Recorded(sql, List.copyOf(bindings)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private boolean isExplainable(String sql) {
+            String normalized = sql.trim().toLowerCase(Locale.ROOT);
+            return normalized.startsWith("select") || normalized.startsWith("with") || normalized.startsWith("update") || normalized.startsWith("delete")
+                    || (normalized.startsWith("insert") && normalized.contains(" select "));
+        }
+
+        private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
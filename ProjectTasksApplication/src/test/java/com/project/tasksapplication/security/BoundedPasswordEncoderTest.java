@@ -0,0 +1,105 @@
+package com.project.tasksapplication.security;
+
+import com.project.tasksapplication.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatches_RecordsHashLatency() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry, 1, 1);
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("app.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("app.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void testEncode_RejectsWhenQueueIsFull() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, meterRegistry, 1, 1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (meterRegistry.get("app.password.hash.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> encoder.encode("c"));
+        assertEquals(1, meterRegistry.get("app.password.hash.rejections").counter().count());
+        release.countDown();
+        assertNotNull(running.get(5, TimeUnit.SECONDS));
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testAuthenticate_RehashesPasswordBelowConfiguredCost() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), meterRegistry, 1, 4);
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        AtomicReference<String> stored = new AtomicReference<>();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(
+                email -> new UserPrincipal(1L, email, weakHash));
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService((user, newPassword) -> {
+            stored.set(newPassword);
+            return new UserPrincipal(1L, user.getUsername(), newPassword);
+        });
+
+        // Act
+        provider.authenticate(new UsernamePasswordAuthenticationToken("test@example.com", "password123"));
+
+        // Assert
+        assertNotNull(stored.get());
+        assertTrue(stored.get().startsWith("$2a$05$"));
+        assertTrue(encoder.matches("password123", stored.get()));
+        assertFalse(encoder.upgradeEncoding(stored.get()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.tasksapplication.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "ThisIsASecretKeyForTestingOnly1234567890";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3600000, 100, meterRegistry);
+    }
+
+    @Test
+    void testResolveClaims_ValidToken() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken("test@example.com", null));
+
+        // Act
+        Claims claims = jwtTokenProvider.resolveClaims(token);
+
+        // Assert
+        assertNotNull(claims);
+        assertEquals("test@example.com", claims.getSubject());
+        assertEquals("test@example.com", jwtTokenProvider.getUsername(token));
+        assertTrue(jwtTokenProvider.validateToken(token));
+    }
+
+    @Test
+    void testResolveClaims_ServesRepeatedTokensFromCache() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken("test@example.com", null));
+
+        // Act
+        Claims first = jwtTokenProvider.resolveClaims(token);
+        Claims second = jwtTokenProvider.resolveClaims(token);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "verified-tokens").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testResolveClaims_TamperedToken() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken("test@example.com", null));
+        JwtTokenProvider otherKey = new JwtTokenProvider(SECRET.replace('T', 'X'), 3600000, 100, new SimpleMeterRegistry());
+
+        // Act & Assert
+        assertNull(otherKey.resolveClaims(token));
+        assertNull(jwtTokenProvider.resolveClaims(token.substring(0, token.length() - 2)));
+        assertNull(jwtTokenProvider.resolveClaims("not-a-token"));
+    }
+
+    @Test
+    void testResolveClaims_ExpiredToken() {
+        // Arrange
+        JwtTokenProvider expiring = new JwtTokenProvider(SECRET, -1000, 100, new SimpleMeterRegistry());
+        String token = expiring.generateToken(new UsernamePasswordAuthenticationToken("test@example.com", null));
+
+        // Act & Assert
+        assertNull(expiring.resolveClaims(token));
+    }
+}
@@ -0,0 +1,204 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.dto.response.ChangesResponse;
+import com.project.tasksapplication.dto.response.TaskResponse;
+import com.project.tasksapplication.mapper.CursorCodec;
+import com.project.tasksapplication.mapper.ProjectMapper;
+import com.project.tasksapplication.mapper.TaskMapper;
+import com.project.tasksapplication.model.Project;
+import com.project.tasksapplication.model.Task;
+import com.project.tasksapplication.model.TaskTombstone;
+import com.project.tasksapplication.repository.CommitHorizon;
+import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.ProjectTombstoneRepository;
+import com.project.tasksapplication.repository.TaskRepository;
+import com.project.tasksapplication.repository.TaskTombstoneRepository;
+import com.project.tasksapplication.security.UserPrincipal;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.now().minusHours(1).withNano(0);
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectTombstoneRepository projectTombstoneRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private OwnershipCache ownershipCache;
+
+    @Mock
+    private CommitHorizon commitHorizon;
+
+    @Mock
+    private ProjectMapper projectMapper;
+
+    @Spy
+    private TaskMapper taskMapper = new TaskMapper();
+
+    @Spy
+    private CursorCodec cursorCodec = new CursorCodec();
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private ChangeFeedService changeFeedService;
+
+    private Project testProject;
+
+    @BeforeEach
+    void setUp() {
+        testProject = Project.builder().id(1L).title("Test Project").build();
+
+        ReflectionTestUtils.setField(changeFeedService, "tombstoneRetention", Duration.ofDays(30));
+
+        SecurityContextHolder.setContext(securityContext);
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new UserPrincipal(1L, "test@example.com", null));
+        lenient().when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        lenient().when(commitHorizon.current()).thenReturn(LocalDateTime.now().minusSeconds(2));
+    }
+
+    @Test
+    void testGetTaskChanges_MergesChangesAndTombstonesInOrder() {
+        // Arrange
+        String since = cursorCodec.encode(T0, 0L);
+        when(taskRepository.findChangedAfter(eq(1L), eq(T0), eq(0L), any(LocalDateTime.class), any()))
+                .thenReturn(List.of(task(5L, T0.plusSeconds(1)), task(3L, T0.plusSeconds(3))));
+        when(taskTombstoneRepository.findDeletedAfter(eq(1L), eq(T0), eq(0L), any(LocalDateTime.class), any()))
+                .thenReturn(List.of(tombstone(4L, T0.plusSeconds(2))));
+
+        // Act
+        ChangesResponse<TaskResponse> result = changeFeedService.getTaskChanges(1L, since, 10);
+
+        // Assert
+        assertEquals(List.of(5L, 3L), result.getChanged().stream().map(TaskResponse::getId).toList());
+        assertEquals(List.of(4L), result.getDeleted());
+        assertFalse(result.isHasMore());
+        CursorCodec.Cursor next = cursorCodec.decode(result.getNextWatermark());
+        assertTrue(next.createdAt().isAfter(T0.plusSeconds(3)));
+        assertEquals(0L, next.id());
+    }
+
+    @Test
+    void testGetTaskChanges_WatermarkStopsAtCommitHorizon() {
+        // Arrange
+        LocalDateTime horizon = T0.plusSeconds(2);
+        String since = cursorCodec.encode(T0, 0L);
+        when(commitHorizon.current()).thenReturn(horizon);
+        when(taskRepository.findChangedAfter(1L, T0, 0L, horizon, Limit.of(11)))
+                .thenReturn(List.of(task(5L, T0.plusSeconds(1))));
+
+        // Act
+        ChangesResponse<TaskResponse> result = changeFeedService.getTaskChanges(1L, since, 10);
+
+        // Assert
+        assertEquals(List.of(5L), result.getChanged().stream().map(TaskResponse::getId).toList());
+        assertEquals(new CursorCodec.Cursor(horizon, 0L), cursorCodec.decode(result.getNextWatermark()));
+        verify(taskTombstoneRepository).findDeletedAfter(1L, T0, 0L, horizon, Limit.of(11));
+    }
+
+    @Test
+    void testGetTaskChanges_PageCutByLimitResumesAtLastEntry() {
+        // Arrange
+        when(taskRepository.findChangedAfter(eq(1L), any(LocalDateTime.class), eq(0L), any(LocalDateTime.class), any()))
+                .thenReturn(List.of(task(1L, T0), task(2L, T0), task(3L, T0.plusSeconds(1))));
+
+        // Act
+        ChangesResponse<TaskResponse> result = changeFeedService.getTaskChanges(1L, null, 2);
+
+        // Assert
+        assertEquals(2, result.getChanged().size());
+        assertTrue(result.isHasMore());
+        assertEquals(new CursorCodec.Cursor(T0, 2L), cursorCodec.decode(result.getNextWatermark()));
+        verify(taskTombstoneRepository, never()).findDeletedAfter(anyLong(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testGetTaskChanges_WatermarkNeverMovesBackwards() {
+        // Arrange
+        LocalDateTime future = LocalDateTime.now().plusMinutes(5);
+        String since = cursorCodec.encode(future, 7L);
+
+        // Act
+        ChangesResponse<TaskResponse> result = changeFeedService.getTaskChanges(1L, since, 10);
+
+        // Assert
+        assertEquals(new CursorCodec.Cursor(future, 7L), cursorCodec.decode(result.getNextWatermark()));
+        assertTrue(result.getChanged().isEmpty());
+    }
+
+    @Test
+    void testGetTaskChanges_ExpiredWatermarkRequiresReset() {
+        // Arrange
+        String since = cursorCodec.encode(LocalDateTime.now().minusDays(31), 1L);
+
+        // Act
+        ChangesResponse<TaskResponse> result = changeFeedService.getTaskChanges(1L, since, 10);
+
+        // Assert
+        assertTrue(result.isResetRequired());
+        assertNull(result.getNextWatermark());
+        verify(taskRepository, never()).findChangedAfter(anyLong(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testGetTaskChanges_InvalidLimit() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.getTaskChanges(1L, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> changeFeedService.getTaskChanges(1L, null, ChangeFeedService.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void testGetTaskChanges_ProjectNotOwned() {
+        // Arrange
+        when(ownershipCache.isProjectOwner(2L, 1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> changeFeedService.getTaskChanges(2L, null, 10));
+    }
+
+    private Task task(Long id, LocalDateTime updatedAt) {
+        return Task.builder().id(id).title("Task " + id).project(testProject).updatedAt(updatedAt).version(0L).build();
+    }
+
+    private TaskTombstone tombstone(Long taskId, LocalDateTime deletedAt) {
+        return TaskTombstone.builder().taskId(taskId).projectId(1L).deletedAt(deletedAt).build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.event.ChangeEvent;
+import com.project.tasksapplication.repository.ProjectRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OwnershipCacheTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OwnershipCache ownershipCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ownershipCache = new OwnershipCache(projectRepository, meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testIsProjectOwner_LoadsOwnerOnce() {
+        // Arrange
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(7L));
+
+        // Act
+        boolean owner = ownershipCache.isProjectOwner(1L, 7L);
+        boolean stranger = ownershipCache.isProjectOwner(1L, 8L);
+
+        // Assert
+        assertTrue(owner);
+        assertFalse(stranger);
+        verify(projectRepository, times(1)).findOwnerIdById(1L);
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "project-owners").gauge().value());
+        assertTrue(meterRegistry.get("cache.memory.estimated").tag("cache", "project-owners").gauge().value() > 0);
+    }
+
+    @Test
+    void testGetProjectOwner_MissingProjectIsNotCached() {
+        // Arrange
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.empty(), Optional.of(7L));
+
+        // Act & Assert
+        assertNull(ownershipCache.getProjectOwner(1L));
+        assertEquals(7L, ownershipCache.getProjectOwner(1L));
+    }
+
+    @Test
+    void testOnChange_ProjectDeletionEvictsOwner() {
+        // Arrange
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(7L), Optional.empty());
+        ownershipCache.getProjectOwner(1L);
+
+        // Act
+        ownershipCache.onChange(ChangeEvent.project(7L, ChangeEvent.Type.UPDATED, 1L));
+        Long afterUpdate = ownershipCache.getProjectOwner(1L);
+        ownershipCache.onChange(ChangeEvent.project(7L, ChangeEvent.Type.DELETED, 1L));
+        Long afterDelete = ownershipCache.getProjectOwner(1L);
+
+        // Assert
+        assertEquals(7L, afterUpdate);
+        assertNull(afterDelete);
+        verify(projectRepository, times(2)).findOwnerIdById(1L);
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.dto.response.ProjectResponse;
+import com.project.tasksapplication.event.ChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectListCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProjectListCache projectListCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        projectListCache = new ProjectListCache(meterRegistry, DataSize.ofMegabytes(1), 100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGet_ServesRepeatedReadsFromCache() {
+        // Act
+        ProjectListCache.Listing first = projectListCache.get(1L, "all", loader(1));
+        ProjectListCache.Listing second = projectListCache.get(1L, "all", loader(1));
+        projectListCache.get(1L, "page:0:10", loader(1));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(2, loads.get());
+        assertEquals(1.0 / 3, meterRegistry.get("cache.hit.ratio").tag("cache", "project-lists").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void testOnChange_OnlyInvalidatesTheChangedUser() {
+        // Arrange
+        ProjectListCache.Listing owner = projectListCache.get(1L, "all", loader(1));
+        ProjectListCache.Listing other = projectListCache.get(2L, "all", loader(1));
+
+        // Act
+        projectListCache.onChange(ChangeEvent.task(1L, ChangeEvent.Type.STATUS_CHANGED, 10L, null));
+
+        // Assert
+        assertNotSame(owner, projectListCache.get(1L, "all", loader(1)));
+        assertSame(other, projectListCache.get(2L, "all", loader(1)));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testGet_EvictsUnderMemoryBudget() throws InterruptedException {
+        // Act
+        for (long userId = 1; userId <= 50; userId++) {
+            projectListCache.get(userId, "all", loader(200));
+        }
+        projectListCache.get(51L, "all", loader(200));
+
+        // Assert
+        // eviction runs asynchronously after the writes
+        double footprint = Double.MAX_VALUE;
+        for (int attempt = 0; attempt < 100 && footprint > DataSize.ofMegabytes(1).toBytes(); attempt++) {
+            Thread.sleep(10);
+            footprint = meterRegistry.get("cache.memory.estimated").tag("cache", "project-lists").gauge().value();
+        }
+        assertTrue(footprint <= DataSize.ofMegabytes(1).toBytes(), "footprint " + footprint);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "project-lists").functionCounter().count() > 0);
+    }
+
+    private Supplier<ProjectListCache.Listing> loader(int projects) {
+        return () -> {
+            loads.incrementAndGet();
+            List<ProjectResponse> body = LongStream.rangeClosed(1, projects)
+                    .mapToObj(id -> ProjectResponse.builder().id(id).title("Project " + id).description("x".repeat(50)).build())
+                    .toList();
+            return new ProjectListCache.Listing(new ProjectListCache.Fingerprint(projects, 0, LocalDateTime.now()), body);
+        };
+    }
+}
@@ -1,24 +1,35 @@
 package com.project.tasksapplication.service;
 
 import com.project.tasksapplication.dto.request.ProjectRequest;
+import com.project.tasksapplication.dto.response.CursorPageResponse;
 import com.project.tasksapplication.dto.response.PageResponse;
 import com.project.tasksapplication.dto.response.ProjectResponse;
+import com.project.tasksapplication.event.ChangeEvent;
+import com.project.tasksapplication.exception.PreconditionFailedException;
+import com.project.tasksapplication.mapper.CursorCodec;
 import com.project.tasksapplication.mapper.ProjectMapper;
 import com.project.tasksapplication.model.Project;
 import com.project.tasksapplication.model.User;
 import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.ProjectTombstoneRepository;
+import com.project.tasksapplication.repository.TaskTombstoneRepository;
 import com.project.tasksapplication.repository.UserRepository;
+import com.project.tasksapplication.repository.projection.ProjectSummary;
+import com.project.tasksapplication.security.UserPrincipal;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,6 +42,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -43,9 +55,21 @@ class ProjectServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProjectTombstoneRepository projectTombstoneRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
     @Mock
     private ProjectMapper projectMapper;
 
+    @Spy
+    private CursorCodec cursorCodec = new CursorCodec();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -93,14 +117,14 @@ class ProjectServiceTest {
                 .build();
 
         SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new UserPrincipal(1L, "test@example.com", null));
     }
 
     @Test
     void testCreateProject_Success() {
         // Arrange
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
         when(projectMapper.toEntity(projectRequest)).thenReturn(testProject);
         when(projectRepository.save(any(Project.class))).thenReturn(testProject);
         when(projectMapper.toDto(testProject)).thenReturn(projectResponse);
@@ -118,7 +142,7 @@ class ProjectServiceTest {
     @Test
     void testCreateProject_UserNotFound() {
         // Arrange
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
+        when(authentication.getPrincipal()).thenReturn("anonymousUser");
 
         // Act & Assert
         assertThrows(UsernameNotFoundException.class, () -> {
@@ -130,10 +154,10 @@ class ProjectServiceTest {
     @Test
     void testGetAllUserProjects_Success() {
         // Arrange
-        List<Project> projects = Arrays.asList(testProject);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(projectRepository.findByUserId(1L)).thenReturn(projects);
-        when(projectMapper.toDto(testProject)).thenReturn(projectResponse);
+        ProjectSummary summary = mock(ProjectSummary.class);
+        List<ProjectSummary> projects = Arrays.asList(summary);
+        when(projectRepository.findSummariesByUserId(1L)).thenReturn(projects);
+        when(projectMapper.toDto(summary)).thenReturn(projectResponse);
 
         // Act
         List<ProjectResponse> result = projectService.getAllUserProjects();
@@ -141,17 +165,18 @@ class ProjectServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(projectRepository, times(1)).findByUserId(1L);
+        verify(projectRepository, times(1)).findSummariesByUserId(1L);
+        verify(projectRepository, never()).findByUserId(1L);
     }
 
     @Test
     void testGetAllUserProjectsPaginated_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Project> projectPage = new PageImpl<>(Arrays.asList(testProject), pageable, 1);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(projectRepository.findByUserId(eq(1L), any(Pageable.class))).thenReturn(projectPage);
-        when(projectMapper.toDto(testProject)).thenReturn(projectResponse);
+        ProjectSummary summary = mock(ProjectSummary.class);
+        Page<ProjectSummary> projectPage = new PageImpl<>(Arrays.asList(summary), pageable, 1);
+        when(projectRepository.findSummariesByUserId(eq(1L), any(Pageable.class))).thenReturn(projectPage);
+        when(projectMapper.toDto(summary)).thenReturn(projectResponse);
 
         // Act
         PageResponse<ProjectResponse> result = projectService.getAllUserProjectsPaginated(0, 10);
@@ -165,10 +190,41 @@ class ProjectServiceTest {
         assertEquals(1, result.getTotalPages());
     }
 
+    @Test
+    void testGetAllUserProjectsKeyset_Success() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.now();
+        ProjectSummary first = mock(ProjectSummary.class);
+        ProjectSummary second = mock(ProjectSummary.class);
+        when(second.getId()).thenReturn(5L);
+        when(second.getCreatedAt()).thenReturn(createdAt);
+        when(projectRepository.findFirstKeysetPage(eq(1L), any(Limit.class)))
+                .thenReturn(Arrays.asList(first, second, mock(ProjectSummary.class)));
+        when(projectMapper.toDto(any(ProjectSummary.class))).thenReturn(projectResponse);
+
+        // Act
+        CursorPageResponse<ProjectResponse> result = projectService.getAllUserProjectsKeyset(null, 2, false);
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(new CursorCodec.Cursor(createdAt, 5L), cursorCodec.decode(result.getNextCursor()));
+        assertNull(result.getTotalElements());
+        verify(projectRepository, never()).countByUserId(anyLong());
+    }
+
+    @Test
+    void testGetAllUserProjectsKeyset_RejectsSizeOutOfRange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> projectService.getAllUserProjectsKeyset(null, 0, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> projectService.getAllUserProjectsKeyset(null, CursorCodec.MAX_PAGE_SIZE + 1, false));
+        verifyNoInteractions(projectRepository);
+    }
+
     @Test
     void testGetProjectById_Success() {
         // Arrange
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
         when(projectMapper.toDto(testProject)).thenReturn(projectResponse);
 
@@ -184,7 +240,6 @@ class ProjectServiceTest {
     @Test
     void testGetProjectById_NotFound() {
         // Arrange
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -200,9 +255,8 @@ class ProjectServiceTest {
         updateRequest.setTitle("Updated Title");
         updateRequest.setDescription("Updated Description");
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(projectRepository.save(any(Project.class))).thenReturn(testProject);
+        when(projectRepository.saveAndFlush(any(Project.class))).thenReturn(testProject);
 
         ProjectResponse updatedResponse = ProjectResponse.builder()
                 .id(1L)
@@ -216,12 +270,26 @@ class ProjectServiceTest {
         when(projectMapper.toDto(testProject)).thenReturn(updatedResponse);
 
         // Act
-        ProjectResponse result = projectService.updateProject(1L, updateRequest);
+        ProjectResponse result = projectService.updateProject(1L, updateRequest, null);
 
         // Assert
         assertNotNull(result);
         assertEquals("Updated Title", result.getTitle());
-        verify(projectRepository, times(1)).save(any(Project.class));
+        verify(projectRepository, times(1)).saveAndFlush(any(Project.class));
+    }
+
+    @Test
+    void testUpdateProject_StaleVersion() {
+        // Arrange
+        ProjectRequest updateRequest = new ProjectRequest();
+        updateRequest.setTitle("Updated Title");
+        testProject.setVersion(2L);
+
+        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> projectService.updateProject(1L, updateRequest, 1L));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
     }
 
     @Test
@@ -230,20 +298,18 @@ class ProjectServiceTest {
         ProjectRequest updateRequest = new ProjectRequest();
         updateRequest.setTitle("Updated Title");
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> {
-            projectService.updateProject(1L, updateRequest);
+            projectService.updateProject(1L, updateRequest, null);
         });
-        verify(projectRepository, never()).save(any(Project.class));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
     }
 
     @Test
     void testDeleteProject_Success() {
         // Arrange
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
         doNothing().when(projectRepository).delete(testProject);
 
@@ -252,12 +318,14 @@ class ProjectServiceTest {
 
         // Assert
         verify(projectRepository, times(1)).delete(testProject);
+        verify(projectTombstoneRepository, times(1)).recordDeletion(1L, 1L);
+        verify(taskTombstoneRepository, times(1)).deleteAllByProjectId(1L);
+        verify(eventPublisher, times(1)).publishEvent(ChangeEvent.project(1L, ChangeEvent.Type.DELETED, 1L));
     }
 
     @Test
     void testDeleteProject_NotFound() {
         // Arrange
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -0,0 +1,147 @@
+package com.project.tasksapplication.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadinessProbeTest {
+
+    @Mock
+    private HikariDataSource dataSource;
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private ObjectProvider<Flyway> flywayProvider;
+
+    private ReadinessProbe readinessProbe;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(dataSource);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        readinessProbe = new ReadinessProbe(dataSource, new SimpleMeterRegistry(), flywayProvider,
+                Duration.ofMinutes(1), Duration.ofSeconds(1), 2, Duration.ofMillis(500));
+    }
+
+    @Test
+    void testCheck_ReadyWhenDatabaseUpAndPoolIdle() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(pool.getActiveConnections()).thenReturn(1);
+        when(pool.getIdleConnections()).thenReturn(9);
+        when(pool.getTotalConnections()).thenReturn(10);
+
+        // Act
+        ReadinessProbe.Report report = readinessProbe.check();
+
+        // Assert
+        assertTrue(report.ready(), report.reasons().toString());
+        Map<?, ?> poolDetails = (Map<?, ?>) report.details().get("pool");
+        assertEquals(1, poolDetails.get("active"));
+        assertEquals(9, poolDetails.get("idle"));
+        assertEquals(0, poolDetails.get("pending"));
+        assertEquals("DISABLED", ((Map<?, ?>) report.details().get("migrations")).get("status"));
+    }
+
+    @Test
+    void testCheck_NotReadyWhenPendingThreadsExceedThreshold() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(0, 3);
+
+        // Act
+        ReadinessProbe.Report before = readinessProbe.check();
+        ReadinessProbe.Report saturated = readinessProbe.check();
+
+        // Assert
+        assertTrue(before.ready());
+        assertFalse(saturated.ready());
+        assertTrue(saturated.reasons().get(0).startsWith("pending connection requests 3"));
+    }
+
+    @Test
+    void testCheck_ProbesDatabaseAtMostOncePerInterval() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenThrow(new SQLTransientConnectionException("Connection refused"));
+
+        // Act
+        ReadinessProbe.Report first = readinessProbe.check();
+        ReadinessProbe.Report second = readinessProbe.check();
+
+        // Assert
+        assertFalse(first.ready());
+        assertFalse(second.ready());
+        assertTrue(second.reasons().contains("database unreachable"));
+        assertEquals("connection failed", ((Map<?, ?>) second.details().get("database")).get("error"));
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void testCheck_ConnectionWaitIsBoundedByProbeTimeout() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return connection;
+        });
+
+        // Act
+        long start = System.nanoTime();
+        ReadinessProbe.Report report = readinessProbe.check();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertFalse(report.ready());
+        assertTrue(report.reasons().contains("database unreachable"));
+        assertEquals("no response within 1000ms", ((Map<?, ?>) report.details().get("database")).get("error"));
+        assertTrue(elapsedMillis < 5_000, "probe took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testCheck_NotReadyWhileMigrationsPending() throws Exception {
+        // Arrange
+        Flyway flyway = mock(Flyway.class);
+        MigrationInfoService info = mock(MigrationInfoService.class);
+        when(flywayProvider.getIfAvailable()).thenReturn(flyway);
+        when(flyway.info()).thenReturn(info);
+        when(info.pending()).thenReturn(new MigrationInfo[]{mock(MigrationInfo.class)});
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+
+        // Act
+        ReadinessProbe.Report report = readinessProbe.check();
+
+        // Assert
+        assertFalse(report.ready());
+        assertTrue(report.reasons().contains("database migrations incomplete"));
+        Map<?, ?> migrations = (Map<?, ?>) report.details().get("migrations");
+        assertEquals("PENDING", migrations.get("status"));
+        assertEquals(1, migrations.get("pending"));
+    }
+}
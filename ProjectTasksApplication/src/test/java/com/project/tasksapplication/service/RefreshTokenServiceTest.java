@@ -0,0 +1,119 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.event.PgNotifyChannel;
+import com.project.tasksapplication.model.RefreshToken;
+import com.project.tasksapplication.model.User;
+import com.project.tasksapplication.repository.RefreshTokenRepository;
+import com.project.tasksapplication.security.TokenDenyList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.authentication.CredentialsExpiredException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private PgNotifyChannel notifyChannel;
+
+    private TokenDenyList tokenDenyList;
+    private RefreshTokenService refreshTokenService;
+    private User testUser;
+    private UUID sessionId;
+
+    @BeforeEach
+    void setUp() {
+        tokenDenyList = new TokenDenyList(new SimpleMeterRegistry(), event -> { }, 60_000, 100);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, tokenDenyList,
+                new StaticListableBeanFactory(Map.of("pgNotifyChannel", notifyChannel)).getBeanProvider(PgNotifyChannel.class),
+                "ThisIsASecretKeyForTestingOnly1234567890", Duration.ofDays(14));
+        testUser = User.builder().id(1L).email("test@example.com").username("testuser").build();
+        sessionId = UUID.randomUUID();
+    }
+
+    @Test
+    void testRotate_IssuesSuccessorInSameSession() {
+        // Arrange
+        String token = refreshTokenService.issue(testUser, sessionId);
+        RefreshToken stored = captureSaved();
+        when(refreshTokenRepository.findWithUserByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(stored.getTokenHash()), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+
+        // Assert
+        assertEquals(sessionId, rotation.sessionId());
+        assertSame(testUser, rotation.user());
+        assertNotEquals(token, rotation.refreshToken());
+        assertNotEquals(token, stored.getTokenHash());
+        verify(refreshTokenRepository, times(2)).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void testRotate_ReuseRevokesSession() {
+        // Arrange
+        String token = refreshTokenService.issue(testUser, sessionId);
+        RefreshToken stored = captureSaved();
+        stored.setUsedAt(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findWithUserByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(stored.getTokenHash()), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(CredentialsExpiredException.class, () -> refreshTokenService.rotate(token));
+        verify(refreshTokenRepository).revokeFamily(eq(sessionId), any(LocalDateTime.class));
+        assertTrue(tokenDenyList.isRevoked(sessionId));
+        verify(notifyChannel).publishRevocation(sessionId);
+        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void testRotate_ExpiredToken() {
+        // Arrange
+        String token = refreshTokenService.issue(testUser, sessionId);
+        RefreshToken stored = captureSaved();
+        stored.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findWithUserByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        // Act & Assert
+        assertThrows(CredentialsExpiredException.class, () -> refreshTokenService.rotate(token));
+        verify(refreshTokenRepository, never()).markUsed(anyString(), any());
+    }
+
+    @Test
+    void testRotate_UnknownToken() {
+        // Arrange
+        when(refreshTokenRepository.findWithUserByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(CredentialsExpiredException.class, () -> refreshTokenService.rotate("unknown"));
+        verify(refreshTokenRepository, never()).markUsed(anyString(), any());
+    }
+
+    private RefreshToken captureSaved() {
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        return saved.getValue();
+    }
+}
@@ -0,0 +1,91 @@
+package com.project.tasksapplication.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the counter repair against PostgreSQL while another transaction is adding a task to the
+ * drifted project, and checks the repair neither loses nor double counts that task.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "app.jwt.secret=ThisIsASecretKeyForTestingOnly1234567890",
+        "app.jwt.expiration-milliseconds=3600000"
+})
+class TaskCounterRepairJobTest {
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+    }
+
+    @Autowired
+    private TaskCounterRepairJob taskCounterRepairJob;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testRepairTaskCounters_KeepsConcurrentAdjustment() throws Exception {
+        // Arrange: two tasks, one completed, but the project claims five completed
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (email, username, password, created_at, updated_at) " +
+                "VALUES ('repair@example.com', 'repair', 'x', now(), now())");
+        Long projectId = jdbcTemplate.queryForObject("INSERT INTO projects (title, user_id, total_tasks, completed_tasks, " +
+                "created_at, updated_at) SELECT 'Drifted', id, 2, 5, now(), now() FROM users WHERE email = 'repair@example.com' " +
+                "RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO tasks (title, completed, project_id, created_at, updated_at) " +
+                "VALUES ('One', TRUE, ?, now(), now()), ('Two', FALSE, ?, now(), now())", projectId, projectId);
+
+        try (Connection writer = dataSource.getConnection()) {
+            writer.setAutoCommit(false);
+            JdbcTemplate writing = new JdbcTemplate(new SingleConnectionDataSource(writer, true));
+            writing.update("INSERT INTO tasks (title, completed, project_id, created_at, updated_at) " +
+                    "VALUES ('Three', FALSE, ?, now(), now())", projectId);
+            writing.update("UPDATE projects SET total_tasks = total_tasks + 1 WHERE id = ?", projectId);
+
+            // Act: the repair queues behind the open adjustment, which then commits
+            CompletableFuture<Void> repair = CompletableFuture.runAsync(taskCounterRepairJob::repairTaskCounters);
+            while (!repair.isDone() && jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class) == 0) {
+                Thread.sleep(20);
+            }
+            writer.commit();
+            repair.get(10, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        Map<String, Object> counters = jdbcTemplate.queryForMap(
+                "SELECT total_tasks, completed_tasks FROM projects WHERE id = ?", projectId);
+        assertEquals(3, ((Number) counters.get("total_tasks")).intValue());
+        assertEquals(1, ((Number) counters.get("completed_tasks")).intValue());
+    }
+}
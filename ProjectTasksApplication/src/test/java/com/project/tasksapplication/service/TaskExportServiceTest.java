@@ -0,0 +1,182 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.dto.request.TaskDataFormat;
+import com.project.tasksapplication.mapper.TaskMapper;
+import com.project.tasksapplication.model.Project;
+import com.project.tasksapplication.model.Task;
+import com.project.tasksapplication.model.User;
+import com.project.tasksapplication.repository.CommitHorizon;
+import com.project.tasksapplication.repository.TaskJdbcRepository;
+import com.project.tasksapplication.security.UserPrincipal;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+
+    @Mock
+    private OwnershipCache ownershipCache;
+
+    @Mock
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Mock
+    private CommitHorizon commitHorizon;
+
+    @Spy
+    private TaskMapper taskMapper = new TaskMapper();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private TaskExportService taskExportService;
+
+    private Project testProject;
+
+    @BeforeEach
+    void setUp() {
+        User testUser = User.builder().id(1L).email("test@example.com").build();
+        testProject = Project.builder().id(1L).title("Test Project").user(testUser).build();
+
+        SecurityContextHolder.setContext(securityContext);
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new UserPrincipal(1L, "test@example.com", null));
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testExportTasks_Csv() throws Exception {
+        // Arrange
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        streamTasks(
+                task(2L, "Plain", null, true),
+                task(1L, "Comma, \"quoted\"", "Line one\nline two", false));
+
+        // Act
+        String output = export(TaskDataFormat.CSV, "  alpha ", false);
+
+        // Assert
+        String[] lines = output.split("\n", 2);
+        assertEquals("id,title,description,completed,due_date,created_at", lines[0]);
+        assertTrue(lines[1].startsWith("2,Plain,,true,,2024-01-02T10:00"));
+        assertTrue(lines[1].contains("1,\"Comma, \"\"quoted\"\"\",\"Line one\nline two\",false,"));
+        verify(taskJdbcRepository).streamByProjectId(eq(1L), eq("alpha"), eq(false), any());
+    }
+
+    @Test
+    void testExportTasks_CsvFormulaCellsAreEscaped() throws Exception {
+        // Arrange
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        streamTasks(
+                task(4L, "=HYPERLINK(\"http://example.com\")", "+1", false),
+                task(3L, "-2", "@SUM(A1)", false),
+                task(2L, "\tTabbed", "\rReturn", false),
+                task(1L, "a=b", "Safe - text", false));
+
+        // Act
+        String output = export(TaskDataFormat.CSV, null, null);
+
+        // Assert
+        String[] lines = output.split("\n");
+        assertTrue(lines[1].startsWith("4,\"'=HYPERLINK(\"\"http://example.com\"\")\",'+1,false,"));
+        assertTrue(lines[2].startsWith("3,'-2,'@SUM(A1),false,"));
+        assertTrue(lines[3].startsWith("2,'\tTabbed,\"'\rReturn\",false,"));
+        assertTrue(lines[4].startsWith("1,a=b,Safe - text,false,"));
+    }
+
+    @Test
+    void testExportTasks_Ndjson() throws Exception {
+        // Arrange
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        streamTasks(task(2L, "First", "Body", true), task(1L, "Second", null, false));
+
+        // Act
+        String output = export(TaskDataFormat.NDJSON, null, null);
+
+        // Assert
+        String[] lines = output.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("First", objectMapper.readTree(lines[0]).get("title").asString());
+        assertEquals(1L, objectMapper.readTree(lines[0]).get("projectId").asLong());
+        assertFalse(objectMapper.readTree(lines[1]).get("completed").asBoolean());
+        verify(taskJdbcRepository).streamByProjectId(eq(1L), isNull(), isNull(), any());
+    }
+
+    @Test
+    void testExportTasks_AccessDenied() {
+        // Arrange
+        when(ownershipCache.isProjectOwner(2L, 1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () ->
+                taskExportService.exportTasks(2L, null, null, TaskDataFormat.CSV));
+        verify(taskJdbcRepository, never()).streamByProjectId(anyLong(), any(), any(), any());
+    }
+
+    private String export(TaskDataFormat format, String search, Boolean completed) throws Exception {
+        StreamingResponseBody body = taskExportService.exportTasks(1L, search, completed, format);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void streamTasks(Task... tasks) {
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(3);
+            for (Task task : tasks) {
+                consumer.accept(task);
+            }
+            return null;
+        }).when(taskJdbcRepository).streamByProjectId(anyLong(), any(), any(), any());
+    }
+
+    private Task task(Long id, String title, String description, boolean completed) {
+        return Task.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .completed(completed)
+                .createdAt(LocalDateTime.of(2024, 1, id.intValue(), 10, 0))
+                .project(testProject)
+                .build();
+    }
+}
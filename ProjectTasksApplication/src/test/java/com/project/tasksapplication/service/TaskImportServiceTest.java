@@ -0,0 +1,264 @@
+package com.project.tasksapplication.service;
+
+import com.project.tasksapplication.dto.request.TaskDataFormat;
+import com.project.tasksapplication.dto.response.TaskImportResponse;
+import com.project.tasksapplication.event.ChangeEvent;
+import com.project.tasksapplication.mapper.TaskMapper;
+import com.project.tasksapplication.model.Task;
+import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.TaskJdbcRepository;
+import com.project.tasksapplication.security.UserPrincipal;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Mock
+    private OwnershipCache ownershipCache;
+
+    @Spy
+    private TaskMapper taskMapper = new TaskMapper();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private TaskImportService taskImportService;
+
+    private final List<List<Task>> insertedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(taskImportService, "maxReportedErrors", 10);
+        ReflectionTestUtils.setField(taskImportService, "maxRecordLength", 100);
+        ReflectionTestUtils.setField(taskImportService, "maxRecordLines", 3);
+
+        SecurityContextHolder.setContext(securityContext);
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new UserPrincipal(1L, "test@example.com", null));
+        lenient().when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(taskJdbcRepository.batchInsert(eq(1L), anyList())).thenAnswer(invocation -> {
+            List<Task> chunk = new ArrayList<>(invocation.getArgument(1));
+            insertedChunks.add(chunk);
+            return chunk.stream().map(task -> (long) insertedChunks.size()).toList();
+        });
+    }
+
+    @Test
+    void testImportTasks_CsvInChunks() throws Exception {
+        // Arrange
+        String csv = "Title,Description,Due_Date,Completed\n"
+                + "First,\"Spans\n two lines, with comma\",2024-05-01,true\n"
+                + "Second,,2024-05-02T09:30,no\n"
+                + "\n"
+                + "Third,\"He said \"\"hi\"\"\",,\n";
+
+        // Act
+        TaskImportResponse result = taskImportService.importTasks(1L, body(csv), TaskDataFormat.CSV);
+
+        // Assert
+        assertEquals(3, result.getProcessed());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(2, insertedChunks.size());
+
+        Task first = insertedChunks.get(0).get(0);
+        assertEquals("Spans\n two lines, with comma", first.getDescription());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 0, 0), first.getDueDate());
+        assertTrue(first.isCompleted());
+        assertEquals(LocalDateTime.of(2024, 5, 2, 9, 30), insertedChunks.get(0).get(1).getDueDate());
+        assertEquals("He said \"hi\"", insertedChunks.get(1).get(0).getDescription());
+
+        verify(projectRepository).adjustTaskCounters(1L, 2, 1);
+        verify(projectRepository).adjustTaskCounters(1L, 1, 0);
+    }
+
+    @Test
+    void testImportTasks_ReportsInvalidLinesAndKeepsValidOnes() throws Exception {
+        // Arrange
+        String ndjson = "{\"title\":\"Good\",\"dueDate\":\"2024-05-01T10:00:00\"}\n"
+                + "{\"title\":\"\"}\n"
+                + "not json\n"
+                + "{\"title\":\"Bad date\",\"dueDate\":\"tomorrow\"}\n"
+                + "{\"title\":\"Also good\",\"completed\":true,\"id\":42}\n";
+
+        // Act
+        TaskImportResponse result = taskImportService.importTasks(1L, body(ndjson), TaskDataFormat.NDJSON);
+
+        // Assert
+        assertEquals(5, result.getProcessed());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(2L, 3L, 4L), result.getErrors().stream().map(TaskImportResponse.LineError::getLine).toList());
+        assertEquals("title: Title is required", result.getErrors().get(0).getMessage());
+        assertEquals("Malformed JSON", result.getErrors().get(1).getMessage());
+        assertFalse(result.isErrorsTruncated());
+        verify(projectRepository).adjustTaskCounters(1L, 2, 1);
+    }
+
+    @Test
+    void testImportTasks_FailedChunkDoesNotStopImport() throws Exception {
+        // Arrange
+        when(taskJdbcRepository.batchInsert(eq(1L), anyList()))
+                .thenThrow(new DataIntegrityViolationException("boom"))
+                .thenReturn(List.of(3L));
+        String ndjson = "{\"title\":\"A\"}\n{\"title\":\"B\"}\n{\"title\":\"C\"}\n";
+
+        // Act
+        TaskImportResponse result = taskImportService.importTasks(1L, body(ndjson), TaskDataFormat.NDJSON);
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(1L, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Chunk of 2 records"));
+        ArgumentCaptor<Integer> total = ArgumentCaptor.forClass(Integer.class);
+        verify(projectRepository, times(1)).adjustTaskCounters(eq(1L), total.capture(), anyInt());
+        assertEquals(1, total.getValue());
+    }
+
+    @Test
+    void testImportTasks_AnnouncesCommittedChunksWhenBodyBreaksOff() {
+        // Arrange
+        byte[] head = "{\"title\":\"A\"}\n{\"title\":\"B\"}\n{\"title\":\"C\"}\n".getBytes(StandardCharsets.UTF_8);
+        InputStream broken = new SequenceInputStream(new ByteArrayInputStream(head), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> taskImportService.importTasks(1L, broken, TaskDataFormat.NDJSON));
+        assertEquals(1, insertedChunks.size());
+        verify(eventPublisher).publishEvent(ChangeEvent.tasks(1L, 1L));
+    }
+
+    @Test
+    void testImportTasks_UnterminatedQuoteIsCutOffAtLineLimit() throws Exception {
+        // Arrange
+        String csv = "title,description\n"
+                + "A,first\n"
+                + "B,\"stray quote\n"
+                + "spilled\n"
+                + "spilled\n"
+                + "C,after\n";
+
+        // Act
+        TaskImportResponse result = taskImportService.importTasks(1L, body(csv), TaskDataFormat.CSV);
+
+        // Assert
+        assertEquals(3, result.getProcessed());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3L, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Quoted field spans more than 3 lines"));
+        assertEquals(List.of("A", "C"), insertedChunks.stream().flatMap(List::stream).map(Task::getTitle).toList());
+    }
+
+    @Test
+    void testImportTasks_OversizedLineIsSkipped() throws Exception {
+        // Arrange
+        String ndjson = "{\"title\":\"" + "x".repeat(10_000) + "\"}\n"
+                + "{\"title\":\"Fits\"}\n";
+
+        // Act
+        TaskImportResponse result = taskImportService.importTasks(1L, body(ndjson), TaskDataFormat.NDJSON);
+
+        // Assert
+        assertEquals(2, result.getProcessed());
+        assertEquals(1, result.getImported());
+        assertEquals(1L, result.getErrors().get(0).getLine());
+        assertEquals("Record exceeds 100 characters", result.getErrors().get(0).getMessage());
+        assertEquals("Fits", insertedChunks.get(0).get(0).getTitle());
+    }
+
+    @Test
+    void testImportTasks_CsvWithoutTitleColumn() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                taskImportService.importTasks(1L, body("name,description\nA,B\n"), TaskDataFormat.CSV));
+        verify(taskJdbcRepository, never()).batchInsert(anyLong(), anyList());
+    }
+
+    @Test
+    void testImportTasks_AccessDenied() {
+        // Arrange
+        when(ownershipCache.isProjectOwner(2L, 1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () ->
+                taskImportService.importTasks(2L, body("{\"title\":\"A\"}\n"), TaskDataFormat.NDJSON));
+        verify(taskJdbcRepository, never()).batchInsert(anyLong(), anyList());
+    }
+
+    private ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,26 +1,42 @@
 package com.project.tasksapplication.service;
 
+import com.project.tasksapplication.dto.request.TaskBatchCreateRequest;
+import com.project.tasksapplication.dto.request.TaskBatchDeleteRequest;
+import com.project.tasksapplication.dto.request.TaskBatchStatusRequest;
+import com.project.tasksapplication.dto.request.TaskPatchRequest;
 import com.project.tasksapplication.dto.request.TaskRequest;
+import com.project.tasksapplication.dto.request.TaskSearchMode;
+import com.project.tasksapplication.dto.response.CursorPageResponse;
 import com.project.tasksapplication.dto.response.PageResponse;
+import com.project.tasksapplication.dto.response.TaskBatchResponse;
 import com.project.tasksapplication.dto.response.TaskResponse;
+import com.project.tasksapplication.event.ChangeEvent;
+import com.project.tasksapplication.exception.PreconditionFailedException;
+import com.project.tasksapplication.mapper.CursorCodec;
 import com.project.tasksapplication.mapper.TaskMapper;
 import com.project.tasksapplication.model.Project;
 import com.project.tasksapplication.model.Task;
 import com.project.tasksapplication.model.User;
 import com.project.tasksapplication.repository.ProjectRepository;
+import com.project.tasksapplication.repository.TaskJdbcRepository;
 import com.project.tasksapplication.repository.TaskRepository;
-import com.project.tasksapplication.repository.UserRepository;
+import com.project.tasksapplication.repository.TaskTombstoneRepository;
+import com.project.tasksapplication.security.UserPrincipal;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,10 +44,17 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -41,15 +64,27 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskJdbcRepository taskJdbcRepository;
+
     @Mock
     private ProjectRepository projectRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private OwnershipCache ownershipCache;
 
     @Mock
     private TaskMapper taskMapper;
 
+    @Spy
+    private CursorCodec cursorCodec = new CursorCodec();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -109,15 +144,13 @@ class TaskServiceTest {
 
         SecurityContextHolder.setContext(securityContext);
         lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
-        lenient().when(authentication.getName()).thenReturn("test@example.com");
+        lenient().when(authentication.getPrincipal()).thenReturn(new UserPrincipal(1L, "test@example.com", null));
     }
 
     @Test
     void testCreateTask_Success() {
         // Arrange
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(projectRepository.existsById(1L)).thenReturn(true);
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
         when(taskMapper.toEntity(taskRequest)).thenReturn(testTask);
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
         when(taskMapper.toDto(testTask)).thenReturn(taskResponse);
@@ -129,14 +162,15 @@ class TaskServiceTest {
         assertNotNull(result);
         assertEquals("Test Task", result.getTitle());
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(projectRepository, times(1)).adjustTaskCounters(1L, 1, 0);
         verify(taskMapper, times(1)).toDto(testTask);
     }
 
     @Test
     void testCreateTask_ProjectNotFound() {
         // Arrange
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(projectRepository.existsById(1L)).thenReturn(false);
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(false);
+        when(ownershipCache.getProjectOwner(1L)).thenReturn(null);
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> {
@@ -148,9 +182,8 @@ class TaskServiceTest {
     @Test
     void testCreateTask_AccessDenied() {
         // Arrange
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(projectRepository.existsById(1L)).thenReturn(true);
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+        when(ownershipCache.getProjectOwner(1L)).thenReturn(2L);
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(false);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
@@ -163,9 +196,7 @@ class TaskServiceTest {
     void testGetTasksByProjectId_Success() {
         // Arrange
         List<Task> tasks = Arrays.asList(testTask);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(projectRepository.existsById(1L)).thenReturn(true);
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
         when(taskRepository.findByProjectId(1L)).thenReturn(tasks);
         when(taskMapper.toDto(testTask)).thenReturn(taskResponse);
 
@@ -183,15 +214,13 @@ class TaskServiceTest {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
         Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask), pageable, 1);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(projectRepository.existsById(1L)).thenReturn(true);
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByProjectIdWithFilters(eq(1L), eq(null), eq(null), any(Pageable.class)))
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        when(taskRepository.findByProjectIdWithFilters(eq(1L), eq(null), any(Pageable.class)))
                 .thenReturn(taskPage);
         when(taskMapper.toDto(testTask)).thenReturn(taskResponse);
 
         // Act
-        PageResponse<TaskResponse> result = taskService.getTasksByProjectIdPaginated(1L, 0, 10, null, null);
+        PageResponse<TaskResponse> result = taskService.getTasksByProjectIdPaginated(1L, 0, 10, null, null, TaskSearchMode.SUBSTRING);
 
         // Assert
         assertNotNull(result);
@@ -205,20 +234,91 @@ class TaskServiceTest {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
         Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask), pageable, 1);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(projectRepository.existsById(1L)).thenReturn(true);
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByProjectIdWithFilters(eq(1L), eq("test"), eq(false), any(Pageable.class)))
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        when(taskRepository.findByProjectIdSubstring(eq(1L), eq("test"), eq(false), any(Pageable.class)))
                 .thenReturn(taskPage);
         when(taskMapper.toDto(testTask)).thenReturn(taskResponse);
 
         // Act
-        PageResponse<TaskResponse> result = taskService.getTasksByProjectIdPaginated(1L, 0, 10, "test", false);
+        PageResponse<TaskResponse> result = taskService.getTasksByProjectIdPaginated(1L, 0, 10, "test", false, TaskSearchMode.SUBSTRING);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
-        verify(taskRepository, times(1)).findByProjectIdWithFilters(eq(1L), eq("test"), eq(false), any(Pageable.class));
+        verify(taskRepository, times(1)).findByProjectIdSubstring(eq(1L), eq("test"), eq(false), any(Pageable.class));
+        verify(taskRepository, never()).findByProjectIdWithFilters(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void testGetTasksByProjectIdPaginated_FullTextMode() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask), pageable, 1);
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        when(taskRepository.findByProjectIdFullText(eq(1L), eq("test"), eq(null), any(Pageable.class)))
+                .thenReturn(taskPage);
+        when(taskMapper.toDto(testTask)).thenReturn(taskResponse);
+
+        // Act
+        PageResponse<TaskResponse> result = taskService.getTasksByProjectIdPaginated(1L, 0, 10, " test ", null, TaskSearchMode.FULLTEXT);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        verify(taskRepository, never()).findByProjectIdSubstring(any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void testGetTasksByProjectIdKeyset_FirstPage() {
+        // Arrange
+        testProject.setTotalTasks(3);
+        Task secondTask = Task.builder().id(2L).title("Second").project(testProject).createdAt(LocalDateTime.now().minusDays(1)).build();
+        Task thirdTask = Task.builder().id(3L).title("Third").project(testProject).createdAt(LocalDateTime.now().minusDays(2)).build();
+        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
+        when(taskRepository.findFirstKeysetPage(eq(1L), eq(null), any(Limit.class)))
+                .thenReturn(Arrays.asList(testTask, secondTask, thirdTask));
+        when(taskMapper.toDto(any(Task.class))).thenReturn(taskResponse);
+
+        // Act
+        CursorPageResponse<TaskResponse> result = taskService.getTasksByProjectIdKeyset(1L, null, 2, null, true);
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(3L, result.getTotalElements());
+        CursorCodec.Cursor cursor = cursorCodec.decode(result.getNextCursor());
+        assertEquals(2L, cursor.id());
+        assertEquals(secondTask.getCreatedAt(), cursor.createdAt());
+        verify(taskRepository, never()).countByProjectId(anyLong());
+    }
+
+    @Test
+    void testGetTasksByProjectIdKeyset_AfterCursorWithoutTotal() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(1);
+        String cursor = cursorCodec.encode(createdAt, 2L);
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        when(taskRepository.findKeysetPageAfter(eq(1L), eq(false), eq(createdAt), eq(2L), any(Limit.class)))
+                .thenReturn(Arrays.asList(testTask));
+        when(taskMapper.toDto(testTask)).thenReturn(taskResponse);
+
+        // Act
+        CursorPageResponse<TaskResponse> result = taskService.getTasksByProjectIdKeyset(1L, cursor, 2, false, false);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        assertNull(result.getTotalElements());
+    }
+
+    @Test
+    void testGetTasksByProjectIdKeyset_RejectsSizeOutOfRange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByProjectIdKeyset(1L, null, 0, null, false));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByProjectIdKeyset(1L, null, -1, null, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTasksByProjectIdKeyset(1L, null, CursorCodec.MAX_PAGE_SIZE + 1, null, false));
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
@@ -228,9 +328,8 @@ class TaskServiceTest {
         updateRequest.setTitle("Updated Task");
         updateRequest.setDescription("Updated Description");
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(taskRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(testTask);
 
         TaskResponse updatedResponse = TaskResponse.builder()
                 .id(1L)
@@ -243,12 +342,26 @@ class TaskServiceTest {
         when(taskMapper.toDto(testTask)).thenReturn(updatedResponse);
 
         // Act
-        TaskResponse result = taskService.updateTask(1L, updateRequest);
+        TaskResponse result = taskService.updateTask(1L, updateRequest, null);
 
         // Assert
         assertNotNull(result);
         assertEquals("Updated Task", result.getTitle());
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, times(1)).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void testUpdateTask_StaleVersion() {
+        // Arrange
+        TaskRequest updateRequest = new TaskRequest();
+        updateRequest.setTitle("Updated Task");
+        testTask.setVersion(3L);
+
+        when(taskRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(testTask));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(1L, updateRequest, 2L));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
     }
 
     @Test
@@ -257,77 +370,157 @@ class TaskServiceTest {
         TaskRequest updateRequest = new TaskRequest();
         updateRequest.setTitle("Updated Task");
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(false);
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> {
-            taskService.updateTask(1L, updateRequest);
+            taskService.updateTask(1L, updateRequest, null);
         });
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
     }
 
     @Test
     void testUpdateTask_AccessDenied() {
         // Arrange
-        User otherUser = User.builder().id(2L).email("other@example.com").build();
-        Project otherProject = Project.builder().id(2L).user(otherUser).build();
-        Task otherTask = Task.builder().id(2L).project(otherProject).build();
-
         TaskRequest updateRequest = new TaskRequest();
         updateRequest.setTitle("Updated Task");
 
-        when(taskRepository.findById(2L)).thenReturn(Optional.of(otherTask));
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(taskRepository.findByIdAndOwnerId(2L, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(2L)).thenReturn(true);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
-            taskService.updateTask(2L, updateRequest);
+            taskService.updateTask(2L, updateRequest, null);
         });
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
     }
 
     @Test
     void testUpdateTaskStatus_Success() {
         // Arrange
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(taskRepository.updateCompletedIfOwned(eq(1L), eq(1L), eq(true), isNull())).thenReturn(1);
 
-        TaskResponse updatedResponse = TaskResponse.builder()
-                .id(1L)
-                .title("Test Task")
-                .completed(true)
-                .projectId(1L)
-                .createdAt(LocalDateTime.now())
-                .build();
-        when(taskMapper.toDto(testTask)).thenReturn(updatedResponse);
+        // Act
+        taskService.updateTaskStatus(1L, true, null);
+
+        // Assert
+        verify(projectRepository, times(1)).adjustCompletedTasksForTask(1L, 1);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher, times(1)).publishEvent(ChangeEvent.task(1L, ChangeEvent.Type.STATUS_CHANGED, 1L, null));
+    }
+
+    @Test
+    void testUpdateTaskStatus_Unchanged() {
+        // Arrange
+        when(taskRepository.updateCompletedIfOwned(eq(1L), eq(1L), eq(false), isNull())).thenReturn(0);
+        when(taskRepository.findVersionByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(0L));
 
         // Act
-        TaskResponse result = taskService.updateTaskStatus(1L, true);
+        taskService.updateTaskStatus(1L, false, null);
 
         // Assert
-        assertNotNull(result);
-        assertTrue(result.isCompleted());
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(projectRepository, never()).adjustCompletedTasksForTask(anyLong(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
     void testUpdateTaskStatus_NotFound() {
         // Arrange
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskRepository.updateCompletedIfOwned(eq(1L), eq(1L), eq(true), isNull())).thenReturn(0);
+        when(taskRepository.findVersionByIdAndOwnerId(1L, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(false);
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> {
-            taskService.updateTaskStatus(1L, true);
+            taskService.updateTaskStatus(1L, true, null);
         });
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(projectRepository, never()).adjustCompletedTasksForTask(anyLong(), anyInt());
+    }
+
+    @Test
+    void testUpdateTaskStatus_AccessDenied() {
+        // Arrange
+        when(taskRepository.updateCompletedIfOwned(eq(2L), eq(1L), eq(true), isNull())).thenReturn(0);
+        when(taskRepository.findVersionByIdAndOwnerId(2L, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(2L)).thenReturn(true);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> taskService.updateTaskStatus(2L, true, null));
+        assertEquals("Access denied", exception.getMessage());
+    }
+
+    @Test
+    void testUpdateTaskStatus_StaleVersion() {
+        // Arrange
+        when(taskRepository.updateCompletedIfOwned(eq(1L), eq(1L), eq(true), eq(4L))).thenReturn(0);
+        when(taskRepository.findVersionByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(5L));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTaskStatus(1L, true, 4L));
+        verify(projectRepository, never()).adjustCompletedTasksForTask(anyLong(), anyInt());
+    }
+
+    @Test
+    void testPatchTask_OnlyPresentFields() {
+        // Arrange
+        TaskPatchRequest request = new TaskPatchRequest();
+        request.setTitle("Renamed");
+        request.setDueDate(null);
+        when(taskRepository.updateFieldsIfOwned(eq(1L), eq(1L), isNull(), anyMap())).thenReturn(1);
+
+        // Act
+        taskService.patchTask(1L, request, null);
+
+        // Assert
+        ArgumentCaptor<Map<String, Object>> fields = ArgumentCaptor.forClass(Map.class);
+        verify(taskRepository).updateFieldsIfOwned(eq(1L), eq(1L), isNull(), fields.capture());
+        assertEquals(List.of("title", "dueDate"), List.copyOf(fields.getValue().keySet()));
+        assertEquals("Renamed", fields.getValue().get("title"));
+        assertNull(fields.getValue().get("dueDate"));
+    }
+
+    @Test
+    void testPatchTask_AccessDenied() {
+        // Arrange
+        TaskPatchRequest request = new TaskPatchRequest();
+        request.setDescription("New description");
+        when(taskRepository.updateFieldsIfOwned(eq(2L), eq(1L), isNull(), anyMap())).thenReturn(0);
+        when(taskRepository.existsById(2L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> taskService.patchTask(2L, request, null));
+    }
+
+    @Test
+    void testPatchTask_StaleVersion() {
+        // Arrange
+        TaskPatchRequest request = new TaskPatchRequest();
+        request.setTitle("Renamed");
+        when(taskRepository.updateFieldsIfOwned(eq(1L), eq(1L), eq(1L), anyMap())).thenReturn(0);
+        when(taskRepository.findVersionByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(2L));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> taskService.patchTask(1L, request, 1L));
+    }
+
+    @Test
+    void testPatchTask_EmptyBodyOnlyChecksAccess() {
+        // Arrange
+        when(taskRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(testTask));
+
+        // Act
+        taskService.patchTask(1L, new TaskPatchRequest(), null);
+
+        // Assert
+        verify(taskRepository, never()).updateFieldsIfOwned(anyLong(), anyLong(), any(), anyMap());
     }
 
     @Test
     void testDeleteTask_Success() {
         // Arrange
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(taskRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(testTask));
         doNothing().when(taskRepository).delete(testTask);
 
         // Act
@@ -335,12 +528,15 @@ class TaskServiceTest {
 
         // Assert
         verify(taskRepository, times(1)).delete(testTask);
+        verify(taskTombstoneRepository, times(1)).recordDeletion(1L, 1L);
+        verify(projectRepository, times(1)).adjustTaskCounters(1L, -1, 0);
     }
 
     @Test
     void testDeleteTask_NotFound() {
         // Arrange
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(false);
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> {
@@ -352,12 +548,8 @@ class TaskServiceTest {
     @Test
     void testDeleteTask_AccessDenied() {
         // Arrange
-        User otherUser = User.builder().id(2L).email("other@example.com").build();
-        Project otherProject = Project.builder().id(2L).user(otherUser).build();
-        Task otherTask = Task.builder().id(2L).project(otherProject).build();
-
-        when(taskRepository.findById(2L)).thenReturn(Optional.of(otherTask));
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(taskRepository.findByIdAndOwnerId(2L, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(2L)).thenReturn(true);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
@@ -365,4 +557,105 @@ class TaskServiceTest {
         });
         verify(taskRepository, never()).delete(any(Task.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateTasks_Success() {
+        // Arrange
+        TaskBatchCreateRequest request = new TaskBatchCreateRequest();
+        request.setTasks(List.of(taskRequest, taskRequest));
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        when(taskMapper.toEntity(taskRequest)).thenReturn(Task.builder().title("Test Task").completed(false).build());
+        when(taskJdbcRepository.batchInsert(eq(1L), anyList())).thenReturn(List.of(10L, 11L));
+
+        // Act
+        TaskBatchResponse result = taskService.createTasks(1L, request);
+
+        // Assert
+        assertEquals(2, result.getRequested());
+        assertEquals(2, result.getAffected());
+        assertEquals(List.of(10L, 11L), result.getIds());
+        verify(projectRepository, times(1)).adjustTaskCounters(1L, 2, 0);
+        verify(ownershipCache, never()).getProjectOwner(anyLong());
+    }
+
+    @Test
+    void testCreateTasks_AccessDenied() {
+        // Arrange
+        TaskBatchCreateRequest request = new TaskBatchCreateRequest();
+        request.setTasks(List.of(taskRequest));
+        when(ownershipCache.isProjectOwner(2L, 1L)).thenReturn(false);
+        when(ownershipCache.getProjectOwner(2L)).thenReturn(2L);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> taskService.createTasks(2L, request));
+        assertTrue(exception.getMessage().contains("Access denied"));
+        verify(taskJdbcRepository, never()).batchInsert(anyLong(), anyList());
+    }
+
+    @Test
+    void testCreateTasks_ProjectNotFound() {
+        // Arrange
+        TaskBatchCreateRequest request = new TaskBatchCreateRequest();
+        request.setTasks(List.of(taskRequest));
+        when(ownershipCache.isProjectOwner(99L, 1L)).thenReturn(false);
+        when(ownershipCache.getProjectOwner(99L)).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> taskService.createTasks(99L, request));
+        verify(taskJdbcRepository, never()).batchInsert(anyLong(), anyList());
+    }
+
+    @Test
+    void testUpdateTasksStatus_AdjustsCompletedCounterByChangedRows() {
+        // Arrange
+        TaskBatchStatusRequest request = new TaskBatchStatusRequest();
+        request.setTaskIds(List.of(1L, 2L, 2L, 3L));
+        request.setCompleted(true);
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        when(taskJdbcRepository.updateCompleted(eq(1L), eq(Set.of(1L, 2L, 3L)), eq(true))).thenReturn(2);
+
+        // Act
+        TaskBatchResponse result = taskService.updateTasksStatus(1L, request);
+
+        // Assert
+        assertEquals(4, result.getRequested());
+        assertEquals(2, result.getAffected());
+        assertNull(result.getIds());
+        verify(projectRepository, times(1)).adjustTaskCounters(1L, 0, 2);
+    }
+
+    @Test
+    void testUpdateTasksStatus_NothingChanged() {
+        // Arrange
+        TaskBatchStatusRequest request = new TaskBatchStatusRequest();
+        request.setTaskIds(List.of(1L));
+        request.setCompleted(false);
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        when(taskJdbcRepository.updateCompleted(eq(1L), anyCollection(), eq(false))).thenReturn(0);
+
+        // Act
+        TaskBatchResponse result = taskService.updateTasksStatus(1L, request);
+
+        // Assert
+        assertEquals(0, result.getAffected());
+        verify(projectRepository, never()).adjustTaskCounters(anyLong(), anyInt(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testDeleteTasks_Success() {
+        // Arrange
+        TaskBatchDeleteRequest request = new TaskBatchDeleteRequest();
+        request.setTaskIds(List.of(1L, 2L, 3L));
+        when(ownershipCache.isProjectOwner(1L, 1L)).thenReturn(true);
+        when(taskJdbcRepository.deleteWithTombstones(eq(1L), anyCollection()))
+                .thenReturn(new TaskJdbcRepository.Deletion(3, 1));
+
+        // Act
+        TaskBatchResponse result = taskService.deleteTasks(1L, request);
+
+        // Assert
+        assertEquals(3, result.getAffected());
+        verify(projectRepository, times(1)).adjustTaskCounters(1L, -3, -1);
+    }
+}